@@ -0,0 +1,64 @@
+package benchmark;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import blackjack.Card;
+import cardCounting.Ace5;
+import cardCounting.HiLo;
+
+/**
+ * Updating the card counts, over a fixed sequence of random cards.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CountingBenchmark {
+
+	/** Number of cards in the sequence (a power of 2) */
+	private static final int N = 1024;
+
+	private Card[] cards;
+	private HiLo hilo;
+	private Ace5 ace5;
+	private int i;
+
+	@Setup
+	public void setup() {
+		RandomGenerator rng = RandomGeneratorFactory.of("L64X128MixRandom").create(42);
+		cards = new Card[N];
+		for (int j = 0; j < N; j++)
+			cards[j] = Card.valueOf(rng.nextInt(52));
+		hilo = new HiLo(200, 9, 11, 6);
+		ace5 = new Ace5(10, 200);
+	}
+
+	@Benchmark
+	public HiLo hiLoUpdateCounts() {
+		i = (i + 1) & (N - 1);
+		// The shoe never ends, keep the number of dealt cards (and so the decks left) in range
+		if (i == 0)
+			hilo.resetCounts();
+		hilo.updateCounts(cards[i]);
+		return hilo;
+	}
+
+	@Benchmark
+	public int ace5UpdateCount() {
+		i = (i + 1) & (N - 1);
+		ace5.updateCount(cards[i]);
+		return ace5.getNextBet();
+	}
+}
@@ -0,0 +1,64 @@
+package benchmark;
+
+import java.util.SplittableRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import analysis.DealerProbabilities;
+
+/**
+ * Dealer outcome probabilities: queries answered by the cache and queries for compositions that were never seen
+ * (partly dealt 6 deck shoes).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DealerProbabilitiesBenchmark {
+
+	/** Number of compositions queried */
+	private static final int COMPOSITIONS = 1024;
+
+	private DealerProbabilities cached;
+	private DealerProbabilities uncached;
+	private int[][] compositions;
+	private int next;
+
+	@Setup
+	public void setup() {
+		SplittableRandom rng = new SplittableRandom(42);
+		compositions = new int[COMPOSITIONS][];
+		for (int i = 0; i < COMPOSITIONS; i++) {
+			compositions[i] = DealerProbabilities.composition(6);
+			for (int k = 0; k < 100; k++) {
+				int v = rng.nextInt(DealerProbabilities.VALUES);
+				if (compositions[i][v] > 0)
+					compositions[i][v]--;
+			}
+		}
+		cached = new DealerProbabilities(DealerProbabilities.VALUES * COMPOSITIONS);
+		uncached = new DealerProbabilities(1);
+	}
+
+	@Benchmark
+	public double[] cachedQuery() {
+		int i = next++ & (COMPOSITIONS - 1);
+		return cached.get(2 + i % DealerProbabilities.VALUES, compositions[i]);
+	}
+
+	/** Every query misses the cache (it only keeps one result per upcard) */
+	@Benchmark
+	public double[] uncachedQuery() {
+		int i = next++ & (COMPOSITIONS - 1);
+		return uncached.get(2 + i % DealerProbabilities.VALUES, compositions[i]);
+	}
+}
@@ -0,0 +1,90 @@
+package benchmark;
+
+import java.util.SplittableRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import analysis.DealerProbabilities;
+import analysis.ExpectedValues;
+import blackjack.HandState;
+
+/**
+ * Expected values of every play of a decision: two card hands against an upcard, from partly dealt 6 deck shoes
+ * that were never seen (the dealer's outcomes of every composition are computed), and the slowest kind of
+ * decision, a pair of 2s against a 2.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpectedValuesBenchmark {
+
+	/** Number of decisions queried */
+	private static final int DECISIONS = 1024;
+
+	private ExpectedValues ev;
+	private int[][] compositions;
+	private int[] states;
+	private int[] upcards;
+	private int[] pairComposition;
+	private int pairState;
+	private int next;
+
+	@Setup
+	public void setup() {
+		SplittableRandom rng = new SplittableRandom(42);
+		compositions = new int[DECISIONS][];
+		states = new int[DECISIONS];
+		upcards = new int[DECISIONS];
+		for (int i = 0; i < DECISIONS; i++) {
+			compositions[i] = DealerProbabilities.composition(6);
+			int dealt = rng.nextInt(200);
+			for (int k = 0; k < dealt; k++)
+				draw(compositions[i], rng);
+			int first = draw(compositions[i], rng);
+			upcards[i] = draw(compositions[i], rng);
+			states[i] = HandState.next(HandState.next(HandState.EMPTY, first), draw(compositions[i], rng));
+		}
+		pairComposition = DealerProbabilities.composition(6);
+		pairComposition[0] -= 3;
+		pairState = HandState.next(HandState.next(HandState.EMPTY, 2), 2);
+		ev = new ExpectedValues(new DealerProbabilities(1)); // no dealer's outcomes kept between decisions
+	}
+
+	/** Draws a random card from a composition.
+	 * @param composition cards left.
+	 * @param rng random number generator.
+	 * @return value of the card drawn.
+	 */
+	private static int draw(int[] composition, SplittableRandom rng) {
+		int remaining = 0;
+		for (int n : composition)
+			remaining += n;
+		int r = rng.nextInt(remaining);
+		int i = 0;
+		while (r >= composition[i])
+			r -= composition[i++];
+		--composition[i];
+		return i + 2;
+	}
+
+	@Benchmark
+	public double[] decision() {
+		int i = next++ & (DECISIONS - 1);
+		return ev.get(states[i], true, false, 1, upcards[i], compositions[i]);
+	}
+
+	@Benchmark
+	public double[] smallPairAgainstTwo() {
+		return ev.get(pairState, true, false, 1, 2, pairComposition);
+	}
+}
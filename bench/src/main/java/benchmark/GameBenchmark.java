@@ -0,0 +1,47 @@
+package benchmark;
+
+import java.util.random.RandomGeneratorFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import blackjack.Game;
+import cardCounting.DeviationTable;
+import cardCounting.StrategyTable;
+
+/**
+ * Full simulation rounds: bet, deal, player's and dealer's turns and results (plus the shuffles, when the 
+ * shuffle threshold is reached).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameBenchmark {
+
+	@Param({"BS", "HL", "HL-AF"})
+	String strategy;
+
+	private Game game;
+
+	@Setup
+	public void setup() {
+		game = new Game('s', 10, 200, 5000, 6, 75, Integer.MAX_VALUE, strategy,
+				RandomGeneratorFactory.of("L64X128MixRandom").create(42), StrategyTable.BASIC,
+				DeviationTable.HI_LO_BASIC);
+	}
+
+	@Benchmark
+	public boolean playRound() {
+		return game.playStep();
+	}
+}
@@ -0,0 +1,55 @@
+package benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import blackjack.Card;
+import blackjack.Hand;
+
+/**
+ * Adding cards to a hand, including the Aces that have to be downgraded from 11 to 1.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandBenchmark {
+
+	private Hand hand;
+	/** A + 6 (soft 17), + 9 (hard 16, first Ace downgraded), + A (17), + A (18), + 5 (bust) */
+	private Card[] softAces;
+	/** 10 + 6 + 5 (hard 21, no Aces) */
+	private Card[] hard;
+
+	@Setup
+	public void setup() {
+		hand = new Hand();
+		softAces = new Card[] {Card.valueOf(0), Card.valueOf(5), Card.valueOf(8), Card.valueOf(13), Card.valueOf(26),
+				Card.valueOf(4)};
+		hard = new Card[] {Card.valueOf(9), Card.valueOf(18), Card.valueOf(30)};
+	}
+
+	@Benchmark
+	public int addCardSoftAces() {
+		hand.reset();
+		for (Card c : softAces)
+			hand.addCard(c);
+		return hand.getValue();
+	}
+
+	@Benchmark
+	public int addCardHard() {
+		hand.reset();
+		for (Card c : hard)
+			hand.addCard(c);
+		return hand.getValue();
+	}
+}
@@ -0,0 +1,53 @@
+package benchmark;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import blackjack.Card;
+import blackjack.Shoe;
+
+/**
+ * Shuffling and dealing from a shoe.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShoeBenchmark {
+
+	@Param({"4", "8"})
+	int nDecks;
+
+	private Shoe shoe;
+
+	@Setup
+	public void setup() {
+		RandomGenerator rng = RandomGeneratorFactory.of("L64X128MixRandom").create(42);
+		shoe = new Shoe(nDecks, rng);
+		shoe.shuffle();
+	}
+
+	@Benchmark
+	public Shoe shuffle() {
+		shoe.shuffle();
+		return shoe;
+	}
+
+	/** The shoe is a ring, so dealing never runs out of cards */
+	@Benchmark
+	public Card getCard() {
+		return shoe.getCard();
+	}
+}
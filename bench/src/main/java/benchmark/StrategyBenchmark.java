@@ -0,0 +1,75 @@
+package benchmark;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import blackjack.Card;
+import blackjack.Hand;
+import blackjack.PlayerHand;
+import cardCounting.Basic;
+import cardCounting.HiLo;
+
+/**
+ * Getting the next play from the playing strategies, over a fixed set of random (but not busted) hands.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBenchmark {
+
+	/** Number of different hands (a power of 2) */
+	private static final int N = 1024;
+
+	private PlayerHand[] p_hands;
+	private Hand[] d_hands;
+	private Basic basic;
+	private HiLo hilo;
+	private int i;
+
+	@Setup
+	public void setup() {
+		RandomGenerator rng = RandomGeneratorFactory.of("L64X128MixRandom").create(42);
+		p_hands = new PlayerHand[N];
+		d_hands = new Hand[N];
+		for (int j = 0; j < N; j++) {
+			do {
+				p_hands[j] = new PlayerHand(10, true, false);
+				int nCards = 2 + (rng.nextInt(4) == 0 ? 1 : 0);
+				for (int k = 0; k < nCards; k++)
+					p_hands[j].addCard(Card.valueOf(rng.nextInt(52)));
+			} while (p_hands[j].isBust());
+			d_hands[j] = new Hand();
+			d_hands[j].addCard(Card.valueOf(rng.nextInt(52)));
+			d_hands[j].addCard(Card.valueOf(rng.nextInt(52)));
+		}
+		basic = new Basic(200, 9, 11);
+		hilo = new HiLo(200, 9, 11, 6);
+		// Some count, so that HiLo doesn't always fall back to the basic strategy
+		for (int j = 0; j < 30; j++)
+			hilo.updateCounts(Card.valueOf(1 + j % 5));
+	}
+
+	@Benchmark
+	public Object basicGetNextPlay() {
+		i = (i + 1) & (N - 1);
+		return basic.getNextPlay(1, p_hands[i], d_hands[i], 10);
+	}
+
+	@Benchmark
+	public Object hiLoGetNextPlay() {
+		i = (i + 1) & (N - 1);
+		return hilo.getNextPlay(1, p_hands[i], d_hands[i], 10);
+	}
+}
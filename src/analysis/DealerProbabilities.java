@@ -0,0 +1,360 @@
+package analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import blackjack.Card;
+import blackjack.HandState;
+
+/**
+ * Exact probabilities of the final hands of the dealer, for an upcard and the composition of the rest of the shoe.
+ * <p>
+ * The dealer draws as in the game: it hits while its total is below 17 and stands on any 17, soft or hard (S17).
+ * The hole card is drawn from the composition like any other card, so a two card 21 is a blackjack outcome.
+ * Every draw sequence is followed, with the exact probabilities of drawing without replacement (if the shoe
+ * can run out before the dealer stands, those sequences have no outcome), and the hand is evaluated by the same
+ * state machine as the game's hands (see {@link HandState}).
+ * <p>
+ * The sequences don't depend on the composition: the dealer's final hands of each upcard are enumerated once,
+ * with the cards drawn to reach them and the number of orders they can be drawn in (every order of the same
+ * cards is equally likely). The probability of a final hand for a composition is then a product of falling
+ * factorials, so a composition is evaluated without following the draws again.
+ * <p>
+ * A composition is given by the number of cards of each value (from 2 to 11, the Ace, at indexes 0 to 9). Results
+ * are kept in a bounded cache (least recently used entries are dropped first), one for each upcard, keyed by the
+ * composition packed into a long: 6 bits for the count of each value and 8 bits for the tens, which covers shoes
+ * of up to 15 decks (larger compositions are computed every time). The calculator can be shared by several threads.
+ */
+public class DealerProbabilities {
+
+	/** Number of card values (2 to 11) */
+	public static final int VALUES = 10;
+	/** Number of outcomes: totals 17 to 21 (indexes 0 to 4), bust and blackjack */
+	public static final int OUTCOMES = 7;
+	/** Index of the bust outcome */
+	public static final int BUST = 5;
+	/** Index of the blackjack outcome */
+	public static final int BLACKJACK = 6;
+	/** Default number of cached results */
+	public static final int DEFAULT_CAPACITY = 1 << 16;
+
+	/** Index of the tens in a composition */
+	private static final int TENS = 8;
+	/** Highest count of a value (other than ten) that can be packed */
+	private static final int MAX_COUNT = (1 << 6) - 1;
+	/** Highest count of tens that can be packed */
+	private static final int MAX_TENS = (1 << 8) - 1;
+
+	/**
+	 * Cache of the results for one upcard, that drops the least recently used entry when it is full
+	 */
+	private static class Cache extends LinkedHashMap<Long, double[]> {
+		private static final long serialVersionUID = 1L;
+		/** Maximum number of entries */
+		private final int capacity;
+
+		Cache(int capacity_in) {
+			super(16, 0.75f, true);
+			capacity = capacity_in;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Long, double[]> eldest) {
+			return size() > capacity;
+		}
+	}
+
+	/**
+	 * Final hands of the dealer for one upcard (see {@link #finalHands(int)}), as a tree of the cards drawn: each
+	 * node adds the cards of one value to its parent, in increasing order of value, so the hands that start with
+	 * the same cards share the product of their falling factorials
+	 */
+	private static class FinalHands {
+		/** Parent of each node (the root, node 0, has no cards) */
+		final int[] parent;
+		/** Cards added by each node: the value index times width, plus the number of cards */
+		final int[] cards;
+		/** Node of each hand */
+		final int[] node;
+		/** Outcome of each hand */
+		final byte[] outcome;
+		/** Number of orders the cards of each hand can be drawn in (the dealer only stands after the last one) */
+		final double[] orders;
+		/** Number of cards drawn for each hand, the hole card included */
+		final byte[] nCards;
+		/** Highest number of cards of one value in a hand, plus one */
+		final int width;
+		/** Highest number of cards drawn */
+		final int maxCards;
+
+		/** Builds the tree.
+		 * @param hands number of orders and outcome of each hand, by cards drawn (5 bits for each value).
+		 */
+		FinalHands(Map<Long, double[]> hands) {
+			int maxCount = 0;
+			for (long drawn : hands.keySet())
+				for (int i = 0; i < VALUES; i++)
+					maxCount = Math.max(maxCount, (int) (drawn >>> (5 * i)) & 0x1f);
+			width = maxCount + 1;
+			// The cards of each hand, as the cards added by its nodes, sorted so that hands with common
+			// first cards are next to each other
+			ArrayList<int[]> paths = new ArrayList<int[]>();
+			for (long drawn : hands.keySet()) {
+				int[] path = new int[VALUES];
+				int len = 0;
+				for (int i = 0; i < VALUES; i++) {
+					int c = (int) (drawn >>> (5 * i)) & 0x1f;
+					if (c > 0)
+						path[len++] = i * width + c;
+				}
+				paths.add(Arrays.copyOf(path, len));
+			}
+			paths.sort(Arrays::compare);
+			int n = paths.size();
+			node = new int[n];
+			outcome = new byte[n];
+			orders = new double[n];
+			nCards = new byte[n];
+			ArrayList<Integer> parents = new ArrayList<Integer>();
+			ArrayList<Integer> added = new ArrayList<Integer>();
+			parents.add(-1);
+			added.add(0);
+			int[] branch = new int[VALUES + 1]; // nodes of the previous hand, from the root
+			int[] previous = new int[0];
+			int maxK = 0;
+			for (int h = 0; h < n; h++) {
+				int[] path = paths.get(h);
+				int common = 0;
+				while (common < path.length && common < previous.length && path[common] == previous[common])
+					common++;
+				for (int j = common; j < path.length; j++) {
+					branch[j + 1] = parents.size();
+					parents.add(branch[j]);
+					added.add(path[j]);
+				}
+				int k = 0;
+				for (int c : path)
+					k += c % width;
+				double[] hand = hands.get(drawn(path, width));
+				node[h] = branch[path.length];
+				orders[h] = hand[0];
+				outcome[h] = (byte) hand[1];
+				nCards[h] = (byte) k;
+				maxK = Math.max(maxK, k);
+				previous = path;
+			}
+			parent = new int[parents.size()];
+			cards = new int[added.size()];
+			for (int j = 0; j < parent.length; j++) {
+				parent[j] = parents.get(j);
+				cards[j] = added.get(j);
+			}
+			maxCards = maxK;
+		}
+
+		/** Gets the cards drawn for a hand.
+		 * @param path cards added by the nodes of the hand.
+		 * @param width highest number of cards of one value, plus one.
+		 * @return cards drawn (5 bits for each value).
+		 */
+		private static long drawn(int[] path, int width) {
+			long drawn = 0;
+			for (int c : path)
+				drawn += (long) (c % width) << (5 * (c / width));
+			return drawn;
+		}
+	}
+
+	/** Final hands of the dealer, by upcard (value minus 2) */
+	private static final FinalHands[] FINAL_HANDS = new FinalHands[VALUES];
+	/** Largest number of nodes of the final hands of an upcard */
+	private static final int MAX_NODES;
+
+	static {
+		int nodes = 0;
+		for (int i = 0; i < VALUES; i++) {
+			FINAL_HANDS[i] = finalHands(i + 2);
+			nodes = Math.max(nodes, FINAL_HANDS[i].parent.length);
+		}
+		MAX_NODES = nodes;
+	}
+
+	/** Products of the falling factorials of the nodes, kept by each thread (to compute without allocating them) */
+	private static final ThreadLocal<double[]> PRODUCTS = ThreadLocal.withInitial(() -> new double[MAX_NODES]);
+
+	/** Caches of the results, by upcard (value minus 2) */
+	private final Cache[] caches = new Cache[VALUES];
+
+	/** Creates a calculator with the default cache capacity.
+	 */
+	public DealerProbabilities() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/** Creates a calculator.
+	 *
+	 * @param capacity_in maximum number of cached results (shared among the upcards).
+	 */
+	public DealerProbabilities(int capacity_in) {
+		for (int i = 0; i < VALUES; i++)
+			caches[i] = new Cache(Math.max(1, capacity_in / VALUES));
+	}
+
+	/** Gets the composition of a full shoe.
+	 *
+	 * @param nDecks number of decks.
+	 * @return number of cards of each value (2 to 11).
+	 */
+	public static int[] composition(int nDecks) {
+		int[] counts = new int[VALUES];
+		for (int i = 0; i < VALUES; i++)
+			counts[i] = 4 * nDecks;
+		counts[TENS] = 16 * nDecks;
+		return counts;
+	}
+
+	/** Gets the probabilities of the final hands of the dealer.
+	 *
+	 * @param upcard dealer's upcard.
+	 * @param composition number of cards of each value (2 to 11) left in the shoe, the hole card included
+	 * (but not the upcard).
+	 * @return probability of each outcome (see {@link #OUTCOMES}).
+	 */
+	public double[] get(Card upcard, int[] composition) {
+		return get(upcard.getIntValue(), composition);
+	}
+
+	/** Gets the probabilities of the final hands of the dealer.
+	 *
+	 * @param upcard value of the dealer's upcard (2 to 11).
+	 * @param composition number of cards of each value (2 to 11) left in the shoe, the hole card included
+	 * (but not the upcard).
+	 * @return probability of each outcome (see {@link #OUTCOMES}).
+	 * @throws IllegalArgumentException if the upcard isn't valid or the composition has no cards.
+	 */
+	public double[] get(int upcard, int[] composition) {
+		if (upcard < 2 || upcard > 11)
+			throw new IllegalArgumentException("invalid upcard " + upcard);
+		long key = pack(composition);
+		Cache cache = caches[upcard - 2];
+		double[] p;
+		if (key >= 0) {
+			synchronized (cache) {
+				p = cache.get(key);
+			}
+			if (p != null)
+				return p.clone();
+		}
+		p = compute(upcard, composition);
+		if (key >= 0) {
+			synchronized (cache) {
+				cache.put(key, p);
+			}
+		}
+		return p.clone();
+	}
+
+	/** Packs a composition into a key.
+	 *
+	 * @param composition number of cards of each value.
+	 * @return the key, or -1 if some count doesn't fit.
+	 * @throws IllegalArgumentException if a count is negative.
+	 */
+	static long pack(int[] composition) {
+		if (composition.length != VALUES)
+			throw new IllegalArgumentException("a composition has " + VALUES + " values");
+		long key = 0;
+		for (int i = 0; i < VALUES; i++) {
+			int n = composition[i];
+			if (n < 0)
+				throw new IllegalArgumentException("negative count of " + (i + 2));
+			int bits = (i == TENS) ? 8 : 6;
+			if (n > ((i == TENS) ? MAX_TENS : MAX_COUNT))
+				return -1;
+			key = (key << bits) | n;
+		}
+		return key;
+	}
+
+	/** Computes the probabilities of the final hands of the dealer (not cached).
+	 * <p> The probability of drawing given cards, in a given order, is the product of the falling factorials of
+	 * the counts of their values over the falling factorial of the number of cards left, whatever the order.
+	 *
+	 * @param upcard value of the upcard.
+	 * @param composition cards left in the shoe.
+	 * @return probability of each outcome.
+	 */
+	static double[] compute(int upcard, int[] composition) {
+		int remaining = 0;
+		for (int n : composition)
+			remaining += n;
+		if (remaining == 0)
+			throw new IllegalArgumentException("empty composition");
+		FinalHands hands = FINAL_HANDS[upcard - 2];
+		int width = hands.width;
+		// falling[i*width + k]: number of ways to draw k cards of the value i, in order
+		double[] falling = new double[VALUES * width];
+		for (int i = 0; i < VALUES; i++) {
+			double f = 1;
+			for (int k = 0; k < width; k++) {
+				falling[i * width + k] = f;
+				f *= Math.max(composition[i] - k, 0);
+			}
+		}
+		// inverse[k]: 1 over the number of ways to draw k cards, in order (0 if there aren't k cards left)
+		double[] inverse = new double[hands.maxCards + 1];
+		double f = 1;
+		for (int k = 0; k < inverse.length; k++) {
+			inverse[k] = (f > 0) ? 1 / f : 0;
+			f *= Math.max(remaining - k, 0);
+		}
+		double[] product = PRODUCTS.get(); // every node is written before it is read
+		product[0] = 1;
+		for (int n = 1; n < hands.parent.length; n++)
+			product[n] = product[hands.parent[n]] * falling[hands.cards[n]];
+		double[] p = new double[OUTCOMES];
+		for (int h = 0; h < hands.node.length; h++)
+			p[hands.outcome[h]] += hands.orders[h] * inverse[hands.nCards[h]] * product[hands.node[h]];
+		return p;
+	}
+
+	/** Enumerates the final hands of the dealer for an upcard: draws every possible card while the dealer has to
+	 * hit, level by level (one more card each time). The same cards reach the same hand in any order, so the
+	 * hands are merged by the cards drawn (5 bits for each value), adding up the number of orders.
+	 *
+	 * @param upcard value of the upcard.
+	 * @return the final hands.
+	 */
+	private static FinalHands finalHands(int upcard) {
+		HashMap<Long, double[]> level = new HashMap<Long, double[]>(); // cards drawn -> orders and state
+		HashMap<Long, double[]> ends = new HashMap<Long, double[]>(); // cards drawn -> orders and outcome
+		level.put(0L, new double[] {1, HandState.next(HandState.EMPTY, upcard)});
+		while (!level.isEmpty()) {
+			HashMap<Long, double[]> nextLevel = new HashMap<Long, double[]>();
+			for (Map.Entry<Long, double[]> e : level.entrySet()) {
+				double orders = e.getValue()[0];
+				int state = (int) e.getValue()[1];
+				for (int i = 0; i < VALUES; i++) {
+					long drawn = e.getKey() + (1L << (5 * i));
+					int next = HandState.next(state, i + 2);
+					int info = HandState.getInfo(next);
+					int total = info & HandState.VALUE_MASK;
+					int outcome = ((info & HandState.BLACKJACK) != 0) ? BLACKJACK : ((info & HandState.BUST) != 0) ? BUST
+							: (total >= 17) ? total - 17 : -1;
+					HashMap<Long, double[]> to = (outcome < 0) ? nextLevel : ends;
+					double[] known = to.get(drawn);
+					if (known == null)
+						to.put(drawn, new double[] {orders, (outcome < 0) ? next : outcome});
+					else
+						known[0] += orders;
+				}
+			}
+			level = nextLevel;
+		}
+		return new FinalHands(ends);
+	}
+
+}
@@ -0,0 +1,369 @@
+package analysis;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinTask;
+
+import blackjack.Card;
+import blackjack.HandState;
+import blackjack.PlayerHand;
+import cardCounting.StrategyTable;
+
+/**
+ * Expected value of every play of a player's hand, for the dealer's upcard and the composition of the rest of
+ * the shoe, in units of the initial bet of the hand.
+ * <p>
+ * The rules are the ones the game enforces: the dealer doesn't peek for blackjack (a dealer blackjack beats every
+ * hand but a blackjack, doubled and split hands included) and stands on soft 17; a blackjack pays 3:2, but only 1:1
+ * on a split Ace; double only on two cards totaling 9 to 11 (split hands too); surrender (half the bet is lost, even
+ * against a dealer blackjack) on any two cards; up to 4 hands; split Aces get one card each, unless it is another
+ * Ace, which can be split again (but not hit).
+ * <p>
+ * Standing, hitting and doubling are computed exactly: every card sequence is followed, drawing without
+ * replacement, and the dealer's outcomes are given by {@link DealerProbabilities} for the composition left after
+ * the player's cards. The values of hitting are memoized by the state of the hand (see {@link HandState}) and the
+ * cards drawn, packed into a long, and the dealer's outcomes by the cards drawn. The cards drawn are counted from
+ * the composition of the decision, so both memos are shared by all of its plays (a split hand starts with its
+ * second card drawn), and the outcomes of each composition are only asked to {@link DealerProbabilities} once per
+ * decision.
+ * <p>
+ * Splits use the usual approximation of combinatorial analyzers: every split hand is played with the composition
+ * left after the pair, as if the cards of the other split hands weren't removed, and resplits are taken, left to
+ * right, while there are less than 4 hands and they are worth more than playing the hand. The stand, hit, double
+ * and split subtrees, and the subtrees of each second card of a split hand, are evaluated in parallel (fork/join).
+ * <p>
+ * A decision takes about a millisecond on a partly dealt 6 deck shoe, and up to a few tens of milliseconds for
+ * small pairs and totals against a low upcard (most of it in the dealer's outcomes of every composition reached).
+ */
+public class ExpectedValues {
+
+	/** Number of plays (indexed by the {@link StrategyTable} actions) */
+	public static final int ACTIONS = 5;
+	/** Maximum number of hands of a player */
+	static final int MAX_HANDS = 4;
+
+	/** Dealer's outcomes calculator (its cache is shared by every query) */
+	private final DealerProbabilities dealer;
+
+	/** Creates an engine with its own dealer's outcomes calculator.
+	 */
+	public ExpectedValues() {
+		this(new DealerProbabilities());
+	}
+
+	/** Creates an engine.
+	 *
+	 * @param dealer_in dealer's outcomes calculator.
+	 */
+	public ExpectedValues(DealerProbabilities dealer_in) {
+		dealer = dealer_in;
+	}
+
+	/** Gets the expected value of every play of a hand.
+	 *
+	 * @param p_hand player's hand (with two or more cards).
+	 * @param nHands number of hands of the player.
+	 * @param upcard dealer's upcard.
+	 * @param composition number of cards of each value (2 to 11) left in the shoe, as the player sees it: without
+	 * the upcard and the player's cards, with the hole card.
+	 * @return expected value of each play, indexed by {@link StrategyTable#HIT}, {@link StrategyTable#STAND},
+	 * {@link StrategyTable#DOUBLE}, {@link StrategyTable#SPLIT} and {@link StrategyTable#SURRENDER}
+	 * ({@code NaN} if the play isn't allowed).
+	 * @throws IllegalArgumentException if the hand has less than two cards or the composition isn't valid.
+	 */
+	public double[] get(PlayerHand p_hand, int nHands, Card upcard, int[] composition) {
+		if (p_hand.getNCards() < 2)
+			throw new IllegalArgumentException("the hand has less than two cards");
+		boolean splitAce = p_hand.isSplit() && p_hand.getFirst().getIntValue() == 11;
+		return get(p_hand.getState(), p_hand.getNCards() == 2, splitAce, nHands, upcard.getIntValue(), composition);
+	}
+
+	/** Gets the expected value of every play of a hand, given by its state.
+	 *
+	 * @param state state of the hand (see {@link HandState}).
+	 * @param twoCards if the hand has two cards.
+	 * @param splitAce if the hand is a split Ace.
+	 * @param nHands number of hands of the player.
+	 * @param upcard value of the dealer's upcard (2 to 11).
+	 * @param composition cards left in the shoe, as the player sees it.
+	 * @return expected value of each play ({@code NaN} if it isn't allowed).
+	 */
+	public double[] get(int state, boolean twoCards, boolean splitAce, int nHands, int upcard, int[] composition) {
+		DealerProbabilities.pack(composition); // validates it
+		int info = HandState.getInfo(state);
+		int value = info & HandState.VALUE_MASK;
+		double[] ev = new double[ACTIONS];
+		Arrays.fill(ev, Double.NaN);
+		Decision decision = new Decision(upcard, composition);
+		ArrayList<ForkJoinTask<Double>> tasks = new ArrayList<ForkJoinTask<Double>>();
+		int[] actions = new int[ACTIONS];
+		tasks.add(ForkJoinTask.adapt(() -> new Tree(decision).stand(state, splitAce)));
+		actions[0] = StrategyTable.STAND;
+		// A split Ace that didn't get another Ace must stand
+		boolean forcedStand = splitAce && twoCards && (info & HandState.PAIR) == 0;
+		if ((info & HandState.BUST) == 0 && !forcedStand) {
+			if (!(splitAce && twoCards)) {
+				actions[tasks.size()] = StrategyTable.HIT;
+				tasks.add(ForkJoinTask.adapt(() -> new Tree(decision).hit(state)));
+			}
+			if (twoCards && value >= 9 && value <= 11) {
+				actions[tasks.size()] = StrategyTable.DOUBLE;
+				tasks.add(ForkJoinTask.adapt(() -> new Tree(decision).doubleDown(state)));
+			}
+			if (twoCards && (info & HandState.PAIR) != 0 && nHands < MAX_HANDS) {
+				int card = ((info & HandState.SOFT) != 0) ? 11 : value / 2;
+				actions[tasks.size()] = StrategyTable.SPLIT;
+				tasks.add(ForkJoinTask.adapt(() -> split(card, nHands + 1, decision)));
+			}
+			if (twoCards)
+				ev[StrategyTable.SURRENDER] = -0.5;
+		}
+		ForkJoinTask.invokeAll(tasks);
+		for (int i = 0; i < tasks.size(); i++)
+			ev[actions[i]] = tasks.get(i).join();
+		return ev;
+	}
+
+	/** Gets the best play.
+	 *
+	 * @param ev expected value of each play (as given by {@link #get(PlayerHand, int, Card, int[])}).
+	 * @return play with the highest expected value ({@link StrategyTable} action).
+	 */
+	public static byte best(double[] ev) {
+		byte best = StrategyTable.STAND;
+		for (byte a = 0; a < ACTIONS; a++)
+			if (ev[a] > ev[best])
+				best = a;
+		return best;
+	}
+
+	/** Gets the expected value of splitting a pair (all the split hands together).
+	 *
+	 * @param card value of the cards of the pair.
+	 * @param nHands number of hands after the split.
+	 * @param decision the decision (with the cards left in the shoe).
+	 * @return expected value of the split.
+	 */
+	private double split(int card, int nHands, Decision decision) {
+		int[] composition = decision.composition;
+		int remaining = 0;
+		for (int n : composition)
+			remaining += n;
+		// Expected value of a split hand for each second card (if it isn't split again), evaluated in parallel
+		double[] hand = new double[DealerProbabilities.VALUES];
+		ArrayList<ForkJoinTask<Double>> tasks = new ArrayList<ForkJoinTask<Double>>();
+		for (int i = 0; i < hand.length; i++) {
+			int second = i + 2;
+			Callable<Double> task = () -> {
+				Tree tree = new Tree(decision);
+				tree.take(second - 2);
+				return tree.splitHand(card, second);
+			};
+			tasks.add(ForkJoinTask.adapt(composition[i] > 0 ? task : () -> 0.0));
+		}
+		ForkJoinTask.invokeAll(tasks);
+		double[] prob = new double[hand.length];
+		for (int i = 0; i < hand.length; i++) {
+			hand[i] = tasks.get(i).join();
+			prob[i] = (double) composition[i] / remaining;
+		}
+		return playSplitHands(nHands, 2, card, hand, prob, new HashMap<Integer, Double>());
+	}
+
+	/** Gets the expected value of the split hands still to be played.
+	 *
+	 * @param nHands number of hands of the player.
+	 * @param toPlay number of hands still to be played.
+	 * @param card value of the cards of the pair.
+	 * @param hand expected value of a hand for each second card.
+	 * @param prob probability of each second card.
+	 * @param memo values already computed, by number of hands and hands to be played.
+	 * @return expected value of the hands to be played.
+	 */
+	private static double playSplitHands(int nHands, int toPlay, int card, double[] hand, double[] prob,
+			HashMap<Integer, Double> memo) {
+		if (toPlay == 0)
+			return 0;
+		Integer key = nHands * (MAX_HANDS + 1) + toPlay;
+		Double known = memo.get(key);
+		if (known != null)
+			return known;
+		double rest = playSplitHands(nHands, toPlay - 1, card, hand, prob, memo);
+		double ev = 0;
+		for (int i = 0; i < hand.length; i++) {
+			if (prob[i] == 0)
+				continue;
+			double play = hand[i] + rest;
+			if (i + 2 == card && nHands < MAX_HANDS)
+				play = Math.max(play, playSplitHands(nHands + 1, toPlay + 1, card, hand, prob, memo));
+			ev += prob[i] * play;
+		}
+		memo.put(key, ev);
+		return ev;
+	}
+
+	/**
+	 * A decision: the dealer's upcard, the composition the plays start from and the values already computed for
+	 * them, by cards drawn from that composition. Shared by the trees of all the plays (and by their threads).
+	 */
+	private class Decision {
+		/** Value of the dealer's upcard */
+		final int upcard;
+		/** Cards left in the shoe when the decision is made */
+		final int[] composition;
+		/** Values of hitting, by state of the hand and cards drawn */
+		final ConcurrentHashMap<Long, Double> hits = new ConcurrentHashMap<Long, Double>();
+		/** Dealer's outcomes, by cards drawn */
+		final ConcurrentHashMap<Long, double[]> outcomes = new ConcurrentHashMap<Long, double[]>();
+
+		Decision(int upcard_in, int[] composition_in) {
+			upcard = upcard_in;
+			composition = composition_in.clone();
+		}
+
+		/** Gets the dealer's outcomes after some cards were drawn (looked up once for each cards drawn).
+		 * @param drawn cards drawn.
+		 * @param counts cards left after drawing them.
+		 * @return probability of each outcome (not to be changed).
+		 */
+		double[] dealer(long drawn, int[] counts) {
+			double[] p = outcomes.get(drawn);
+			if (p == null) {
+				p = dealer.get(upcard, counts);
+				outcomes.put(drawn, p);
+			}
+			return p;
+		}
+	}
+
+	/**
+	 * Evaluation of the plays of a hand in a decision: keeps the cards left while cards are drawn (the values
+	 * already computed are kept by the decision). Used by a single thread.
+	 */
+	private class Tree {
+		/** The decision */
+		private final Decision decision;
+		/** Cards left (changed while drawing, but restored) */
+		private final int[] counts;
+		/** Number of cards left */
+		private int remaining;
+		/** Cards drawn since the decision, 5 bits for each value */
+		private long drawn;
+
+		Tree(Decision decision_in) {
+			decision = decision_in;
+			counts = decision.composition.clone();
+			for (int n : counts)
+				remaining += n;
+			drawn = 0;
+		}
+
+		/** Removes a card from the shoe.
+		 * @param i index of its value.
+		 */
+		private void take(int i) {
+			--counts[i];
+			--remaining;
+			drawn += 1L << (5 * i);
+		}
+
+		/** Puts a card back in the shoe.
+		 * @param i index of its value.
+		 */
+		private void putBack(int i) {
+			++counts[i];
+			++remaining;
+			drawn -= 1L << (5 * i);
+		}
+
+		/** Expected value of standing.
+		 * @param state state of the hand.
+		 * @param splitAce if the hand is a split Ace (a blackjack only pays 1:1).
+		 * @return expected value.
+		 */
+		double stand(int state, boolean splitAce) {
+			int info = HandState.getInfo(state);
+			if ((info & HandState.BUST) != 0)
+				return -1;
+			double[] p = decision.dealer(drawn, counts);
+			if ((info & HandState.BLACKJACK) != 0)
+				return (1 - p[DealerProbabilities.BLACKJACK]) * (splitAce ? 1 : 1.5);
+			int total = info & HandState.VALUE_MASK;
+			double ev = p[DealerProbabilities.BUST] - p[DealerProbabilities.BLACKJACK];
+			for (int d = 17; d <= 21; d++)
+				ev += (total > d) ? p[d - 17] : (total < d) ? -p[d - 17] : 0;
+			return ev;
+		}
+
+		/** Expected value of hitting (and then playing the best way, hitting or standing).
+		 * @param state state of the hand.
+		 * @return expected value.
+		 */
+		double hit(int state) {
+			long key = ((long) state << 50) | drawn;
+			Double known = decision.hits.get(key);
+			if (known != null)
+				return known;
+			double ev = 0;
+			for (int i = 0; i < counts.length; i++) {
+				int n = counts[i];
+				if (n == 0)
+					continue;
+				double prob = (double) n / remaining;
+				int next = HandState.next(state, i + 2);
+				take(i);
+				if ((HandState.getInfo(next) & HandState.BUST) != 0)
+					ev -= prob;
+				else
+					ev += prob * Math.max(stand(next, false), hit(next));
+				putBack(i);
+			}
+			decision.hits.put(key, ev);
+			return ev;
+		}
+
+		/** Expected value of doubling down (one card, then standing).
+		 * @param state state of the hand.
+		 * @return expected value (of the doubled bet, in units of the initial bet).
+		 */
+		double doubleDown(int state) {
+			double ev = 0;
+			for (int i = 0; i < counts.length; i++) {
+				int n = counts[i];
+				if (n == 0)
+					continue;
+				double prob = (double) n / remaining;
+				take(i);
+				ev += prob * stand(HandState.next(state, i + 2), false);
+				putBack(i);
+			}
+			return 2 * ev;
+		}
+
+		/** Expected value of a split hand (already without its second card), played the best way but without
+		 * splitting it again.
+		 * @param card value of the first card.
+		 * @param second value of the second card.
+		 * @return expected value.
+		 */
+		double splitHand(int card, int second) {
+			boolean splitAce = card == 11;
+			int state = HandState.next(HandState.next(HandState.EMPTY, card), second);
+			double ev = stand(state, splitAce);
+			if (splitAce && second != 11)
+				return ev; // must stand
+			ev = Math.max(ev, -0.5); // surrender
+			if (splitAce)
+				return ev; // another Ace can't be hit
+			ev = Math.max(ev, hit(state));
+			int value = HandState.getInfo(state) & HandState.VALUE_MASK;
+			if (value >= 9 && value <= 11)
+				ev = Math.max(ev, doubleDown(state));
+			return ev;
+		}
+	}
+
+}
@@ -0,0 +1,239 @@
+package blackjack;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import cardCounting.AdviceTable;
+
+/**
+ * Class that serves playing advice over HTTP, in batches, from an {@link AdviceTable}.
+ * <p>
+ * {@code POST /advice} takes one decision per line: the player's cards (comma separated, such as {@code A,7} or
+ * {@code 10,K,2}), the dealer's up card, the true count, the bet and, optionally, the number of hands of the player
+ * (1 by default), separated by spaces. The answer has one line per decision, in the same order, with the advice of
+ * the Basic and of the Hi-Lo strategies (written as the {@code ad} command writes them, such as {@code hit double}),
+ * or {@code error: } and the reason for a decision that isn't valid.
+ * <p>
+ * {@code GET /metrics} gives the number of requests and decisions served, and the histogram of the time taken by
+ * the requests (from the end of the request to the end of its answer, see {@link LatencyHistogram}).
+ * <p>
+ * Every exchange is handled on its own virtual thread.
+ */
+public class AdviceServer {
+
+	/** Maximum number of connections waiting to be accepted */
+	private static final int BACKLOG = 1 << 12;
+
+	/** The advices */
+	private final AdviceTable table;
+	/** The HTTP server */
+	private final HttpServer server;
+	/** Executor of the exchanges (a virtual thread each) */
+	private final ExecutorService executor;
+	/** Latencies of the advice requests */
+	private final LatencyHistogram latencies = new LatencyHistogram();
+	/** Number of decisions advised */
+	private final LongAdder decisions = new LongAdder();
+
+	/** Creates the server (it only starts serving with {@link #start()}).
+	 *
+	 * @param port_in Port the server listens on (0 for any free port).
+	 * @param address_in Address the server listens on ({@code null} for every address).
+	 * @param table_in Advices served.
+	 * @throws IOException if the socket can't be opened.
+	 */
+	public AdviceServer(int port_in, InetAddress address_in, AdviceTable table_in) throws IOException {
+		table = table_in;
+		server = HttpServer.create(new InetSocketAddress(address_in, port_in), BACKLOG);
+		executor = Executors.newVirtualThreadPerTaskExecutor();
+		server.setExecutor(executor);
+		server.createContext("/advice", this::advice);
+		server.createContext("/metrics", this::metrics);
+	}
+
+	/** Starts serving (in the background).
+	 */
+	public void start() {
+		server.start();
+	}
+
+	/** Stops serving, waiting at most a second for the exchanges being handled.
+	 */
+	public void stop() {
+		server.stop(1);
+		executor.shutdown();
+	}
+
+	/** Gets the port the server listens on.
+	 *
+	 * @return the port.
+	 */
+	public int getPort() {
+		return server.getAddress().getPort();
+	}
+
+	/** Handles an advice request.
+	 *
+	 * @param exchange the exchange.
+	 * @throws IOException if the request can't be read or answered.
+	 */
+	private void advice(HttpExchange exchange) throws IOException {
+		if (!exchange.getRequestMethod().equals("POST")) {
+			send(exchange, 405, "POST a batch of decisions, one per line\n");
+			return;
+		}
+		byte[] body = exchange.getRequestBody().readAllBytes();
+		long start = System.nanoTime();
+		StringBuilder out = new StringBuilder(body.length);
+		int n = 0;
+		String text = new String(body, StandardCharsets.UTF_8);
+		for (int from = 0; from < text.length(); ) {
+			int to = text.indexOf('\n', from);
+			if (to < 0)
+				to = text.length();
+			int end = (to > from && text.charAt(to - 1) == '\r') ? to - 1 : to;
+			if (end > from) {
+				advise(text, from, end, out);
+				out.append('\n');
+				n++;
+			}
+			from = to + 1;
+		}
+		send(exchange, 200, out.toString());
+		decisions.add(n);
+		latencies.record(System.nanoTime() - start);
+	}
+
+	/** Advises a decision. The decision is parsed in place, without splitting it.
+	 *
+	 * @param text the request.
+	 * @param from start of the decision in the request.
+	 * @param end end of the decision in the request.
+	 * @param out where the advices (or the error) are written.
+	 */
+	private void advise(String text, int from, int end, StringBuilder out) {
+		int[] fields = new int[5]; // up card, true count, bet and number of hands (after the cards)
+		int nFields = 0, state = HandState.EMPTY, nCards = 0;
+		int pos = from;
+		while (pos < end && nFields < fields.length) {
+			while (pos < end && text.charAt(pos) == ' ')
+				pos++;
+			if (pos == end)
+				break;
+			int tokenEnd = pos;
+			while (tokenEnd < end && text.charAt(tokenEnd) != ' ')
+				tokenEnd++;
+			if (nFields == 0) { // the cards
+				for (int card = pos; card < tokenEnd; ) {
+					int cardEnd = text.indexOf(',', card);
+					if (cardEnd < 0 || cardEnd > tokenEnd)
+						cardEnd = tokenEnd;
+					int value = parseCard(text, card, cardEnd);
+					if (value < 0) {
+						out.append("error: invalid card ").append(text, card, cardEnd);
+						return;
+					}
+					state = HandState.next(state, value);
+					nCards++;
+					card = cardEnd + 1;
+				}
+			}
+			else if (nFields == 1) {
+				fields[nFields] = parseCard(text, pos, tokenEnd);
+				if (fields[nFields] < 0) {
+					out.append("error: invalid up card ").append(text, pos, tokenEnd);
+					return;
+				}
+			}
+			else {
+				try {
+					fields[nFields] = Integer.parseInt(text, pos, tokenEnd, 10);
+				} catch (NumberFormatException nfe) {
+					out.append("error: invalid number ").append(text, pos, tokenEnd);
+					return;
+				}
+			}
+			nFields++;
+			pos = tokenEnd;
+		}
+		while (pos < end && text.charAt(pos) == ' ')
+			pos++;
+		if (nFields < 4 || pos < end) {
+			out.append("error: expected <cards> <up card> <true count> <bet> [<hands>]");
+			return;
+		}
+		int nHands = (nFields == 5) ? fields[4] : 1;
+		if (nCards < 2 || (HandState.getInfo(state) & HandState.BUST) != 0 || fields[3] < 1 || nHands < 1) {
+			out.append("error: no decision for this hand");
+			return;
+		}
+		int advices = table.getAdvices(state, nCards, nHands, fields[3], fields[1], fields[2]);
+		out.append(ConsoleEventListener.getFullAdvice(AdviceTable.getBasic(advices))).append(' ')
+				.append(ConsoleEventListener.getFullAdvice(AdviceTable.getHiLo(advices)));
+	}
+
+	/** Gets the value of a card, written as in the shoe files (without the suit).
+	 *
+	 * @param text text with the card.
+	 * @param from start of the card ({@code 2} to {@code 10}, {@code J}, {@code Q}, {@code K} or {@code A}).
+	 * @param to end of the card.
+	 * @return value of the card (2 to 11, with the Ace as 11), or -1 if it isn't a card.
+	 */
+	private static int parseCard(String text, int from, int to) {
+		if (to - from == 2)
+			return (text.charAt(from) == '1' && text.charAt(from + 1) == '0') ? 10 : -1;
+		if (to - from != 1)
+			return -1;
+		char c = text.charAt(from);
+		if (c >= '2' && c <= '9')
+			return c - '0';
+		switch (c) {
+			case 'A':
+				return 11;
+			case 'K':
+			case 'Q':
+			case 'J':
+				return 10;
+			default:
+				return -1;
+		}
+	}
+
+	/** Handles a metrics request.
+	 *
+	 * @param exchange the exchange.
+	 * @throws IOException if the request can't be answered.
+	 */
+	private void metrics(HttpExchange exchange) throws IOException {
+		StringBuilder out = new StringBuilder();
+		out.append("decisions\t").append(decisions.sum()).append('\n');
+		latencies.appendTo(out);
+		send(exchange, 200, out.toString());
+	}
+
+	/** Sends an answer and ends the exchange.
+	 *
+	 * @param exchange the exchange.
+	 * @param status HTTP status of the answer.
+	 * @param text body of the answer.
+	 * @throws IOException if it can't be sent.
+	 */
+	private static void send(HttpExchange exchange, int status, String text) throws IOException {
+		byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+		exchange.sendResponseHeaders(status, bytes.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(bytes);
+		}
+	}
+
+}
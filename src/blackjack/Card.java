@@ -2,13 +2,26 @@ package blackjack;
 
 /** 
  * Class that implements a game card
+ * <p>
+ * Cards are immutable and there is exactly one instance of each of the 52 cards
+ * (obtained with {@link #valueOf(int)} or {@link #valueOf(String, char)}), shared by every shoe and hand.
+ * Whether a card is face up or an Ace counts as 11 is a property of the hand holding it, not of the card.
  * 
  * @author Ricardo Santos 90178
  * @author Tomá Bessa 90200
  * @author Inês Ferreira 90395
  * 
 */
-public class Card {
+public final class Card {
+	/**
+	 * The 52 cards, indexed by their code
+	 */
+	private static final Card[] deck = new Card[52];
+	static {
+		for (int i = 0; i < 52; i++)
+			deck[i] = new Card(i);
+	}
+
 	/**
 	* The String value of the card:
 	* <p>
@@ -16,31 +29,31 @@ public class Card {
 	* 2 to 10 for the cards with that value; 
 	* J, Q and K to Jack, Queen and King, respectively.
 	*/
-	private String value;
+	private final String value;
 	/**
 	 * The suit of the card: <p>
 	 * D: Diamonds; C: Clubs; S: Spades; H: Hearts.
 	*/
-	private char suit;
+	private final char suit;
 	/**
 	 * Numeric value of a card:
 	*/
-	private int intValue;
+	private final int intValue;
 	/**
-	 * Visibility of a card: {@code true} if the card is visible, {@code false} otherwise
+	 * Code of the card, from 0 to 51 (see {@link #valueOf(int)})
 	*/
-	private boolean isUp;
+	private final int code;
 	/**
-	 * If an Ace counts as a 11 ({@code true}) or a 1 ({@code false})
+	 * The card as it is shown: its value followed by its suit
 	*/
-	private boolean isSoft;
+	private final String name;
 	
 	/** Used to create a card from an integer.
 	 * @param n integer from 0 to 51 
 	*/
-	public Card(int n) {
+	private Card(int n) {
 		
-		isUp = false;
+		code = n;
 		
 		// Variable that determines selection of the suit
 		int suit_sel = n/13 + 1;
@@ -49,27 +62,25 @@ public class Card {
 		//	- suit_sel = 3 -> Clubs  / suit_sel = 4 -> Diamonds
 				
 		// Variable that determines the value of each card
-		intValue = n%13 + 1;
-		if (intValue > 10) {
+		int rank = n%13 + 1;
+		if (rank == 1) {
+			value = "A";
+			intValue = 11;
+		}
+		else if (rank > 10) {
 			
-			if (intValue == 11) 
+			if (rank == 11)
 				value = "J";
-			
-			if (intValue == 12) 
+			else if (rank == 12)
 				value = "Q";
-			
-			if (intValue == 13) 
+			else
 				value = "K";
 		
 			intValue = 10;
 		}
-		
-		else
-			value = Integer.toString(intValue);
-		
-		if (value.equals("1")) {
-			value = "A";
-			intValue = 11;
+		else {
+			value = Integer.toString(rank);
+			intValue = rank;
 		}
 		
 		// Covers all cards that have the same value
@@ -91,27 +102,51 @@ public class Card {
 			default:
 				suit = 'D';
 		}
-
-		isSoft = (value.equals("A"));
+		name = value + suit;
 	}
 	
-	/** Creates a specific card.
+	/** Gets a card from its code.
+	 *
+	 * @param n integer from 0 to 51: the suit is n/13 (Spades, Hearts, Clubs and Diamonds)
+	 * and n%13 is the rank (0 for an Ace up to 12 for a King)
+	 * @return the card with that code
+	 *
+	*/
+	public static Card valueOf(int n) {
+		return deck[n];
+	}
+
+	/** Gets a specific card.
 	 * 
 	 * @param value_in card String value.
 	 * @param suit_in suit of the card.
+	 * @return the card with that value and suit
+	 * @throws IllegalArgumentException if there is no such card
 	 * 
 	*/
-	public Card(String value_in, char suit_in) {
-		isUp = false;
-		isSoft = value_in.equals("A");
-		value = value_in;
-		suit = suit_in;
-		if (value_in.equals("J") || value_in.equals("Q") || value_in.equals("K"))
-			intValue = 10;
-		else if (value_in.equals("A"))
-			intValue = 11;
-		else
-			intValue = Integer.parseInt(value_in);
+	public static Card valueOf(String value_in, char suit_in) {
+		int suit_sel = "SHCD".indexOf(suit_in);
+		int rank = -1;
+		if (value_in.equals("A"))
+			rank = 0;
+		else if (value_in.equals("J"))
+			rank = 10;
+		else if (value_in.equals("Q"))
+			rank = 11;
+		else if (value_in.equals("K"))
+			rank = 12;
+		else {
+			try {
+				int n = Integer.parseInt(value_in);
+				if (n >= 2 && n <= 10)
+					rank = n - 1;
+			} catch (NumberFormatException nfe) {
+				// rank stays invalid
+			}
+		}
+		if (suit_sel < 0 || rank < 0)
+			throw new IllegalArgumentException("invalid card " + value_in + suit_in);
+		return deck[suit_sel*13 + rank];
 	}
 	
 	/** Gets the value of the card.
@@ -141,76 +176,29 @@ public class Card {
 		return intValue;
 	}
 	
-	/** Gets the variable which determines if the card is face up. 
+	/** Gets the code of the card.
 	 * 
-	 * @return isUp Evaluates if the card is turned up and therefore visible.
+	 * @return code integer from 0 to 51 (see {@link #valueOf(int)}).
 	 * 
 	*/
-	public boolean getIsUp() {
-		return isUp;
+	public int getCode() {
+		return code;
 	}
 	
-	/** Sets a flag isSoft.
+	/** Checks if the card is an Ace.
 	 * 
-	 * @param flag set value.
+	 * @return {@code true} if the card is an Ace.
 	 * 
 	*/
-	public void setSoft(boolean flag) {
-		isSoft = flag;
-	}
-	
-	/** Gets the variable isSoft, which determines the value of the Ace.
-	 * 
-	 * @return isSoft true if the Ace is worth 11, false if it's worth 1.
-	 * 
-	*/
-	public boolean isSoft() {
-		return isSoft;
-	} 
-	
-	/** Sets the variable isUp.
-	 * @param visibility setting value.
-	 * 
-	*/
-	public void setIsUp(boolean visibility) {
-		isUp = visibility;
-	}
-
-	@Override
-	public int hashCode() {
-		final int prime = 31;
-		int result = 1;
-		result = prime * result + intValue;
-		result = prime * result + (isSoft ? 1231 : 1237);
-		result = prime * result + (isUp ? 1231 : 1237);
-		result = prime * result + suit;
-		result = prime * result + ((value == null) ? 0 : value.hashCode());
-		return result;
-	}
-
-	@Override
-	public boolean equals(Object obj) {
-		if (this == obj)
-			return true;
-		if (obj == null)
-			return false;
-		if (getClass() != obj.getClass())
-			return false;
-		Card other = (Card) obj;
-		if (value.equals("A") && other.value.equals("A"))
-			return true;
-		if (intValue == other.intValue)
-			return true;
-		return false;
+	public boolean isAce() {
+		return intValue == 11;
 	}
 
 	/** Turns the result into a string
 	 */
 	@Override
 	public String toString() {
-		if (isUp == true)
-			return value + "" + suit;
-		else return "X";
+		return name;
 	}
 	
 }
\ No newline at end of file
@@ -0,0 +1,20 @@
+package blackjack;
+
+/**
+ * Interface for the observers of the cards that are seen at the table (such as the card counting strategies).
+ * <p>
+ * Observers subscribe to the dealer (see {@link Dealer#addObserver(CardObserver)}), which notifies them once for
+ * every card that is shown, including its hole card when it is turned up, and whenever the shoe is shuffled.
+ */
+public interface CardObserver {
+
+	/** A card was shown.
+	 * @param card the card
+	 */
+	public void cardSeen(Card card);
+
+	/** The shoe was shuffled (no cards have been seen since).
+	 */
+	public void shuffled();
+
+}
@@ -0,0 +1,76 @@
+package blackjack;
+
+/**
+ * Enumeration of the game commands.
+ * <p>
+ * Every game mode gets its commands as one of these values: the Debug and Interactive modes parse the text
+ * of the commands once, when they are read, and the Simulation mode and the playing strategies return them
+ * directly. The value of a bet command is obtained separately (see {@link GameMode#getBet()}).
+ */
+public enum Command {
+
+	/** Hit ("h") */
+	HIT("h", "h"),
+	/** Stand ("s") */
+	STAND("s", "s"),
+	/** Double down ("2") */
+	DOUBLE("2", "2"),
+	/** Split ("p") */
+	SPLIT("p", "p"),
+	/** Surrender ("u") */
+	SURRENDER("u", "u"),
+	/** Insurance ("i") */
+	INSURANCE("i", "i"),
+	/** Bet ("b" or "b [value]") */
+	BET("b", "b"),
+	/** Deal ("d") */
+	DEAL("d", "d"),
+	/** Advice ("ad") */
+	ADVICE("ad", "a"),
+	/** Statistics ("st") */
+	STATS("st", "t"),
+	/** Current balance ("$") */
+	BALANCE("$", "$"),
+	/** Quit ("q") */
+	QUIT("q", "q"),
+	/** Command that isn't recognized (already reported when it was read) */
+	INVALID("", "");
+
+	/** All the commands */
+	private static final Command[] ALL = values();
+
+	/** Text of the command, as it is written */
+	private final String text;
+	/** Short code of the command, printed when the command is illegal at some point of the game */
+	private final String code;
+
+	/** Creates a command.
+	 *
+	 * @param text_in text of the command.
+	 * @param code_in short code of the command.
+	 */
+	private Command(String text_in, String code_in) {
+		text = text_in;
+		code = code_in;
+	}
+
+	/** Gets the command written as a text (bets with a value aren't parsed here).
+	 *
+	 * @param text_in text of the command.
+	 * @return the command, or {@link #INVALID} if there is no command with that text.
+	 */
+	public static Command parse(String text_in) {
+		for (Command cmd : ALL)
+			if (cmd != INVALID && cmd.text.equals(text_in))
+				return cmd;
+		return INVALID;
+	}
+
+	/** Returns the short code of the command
+	 */
+	@Override
+	public String toString() {
+		return code;
+	}
+
+}
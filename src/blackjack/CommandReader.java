@@ -0,0 +1,131 @@
+package blackjack;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+
+/**
+ * Reads the tokens of a command file one at a time, as they are needed, with a fixed amount of memory
+ * (only the current token is kept, no matter how long the file or its lines are).
+ * <p>
+ * The tokens are the same as splitting each line with {@code line.split(" ")}: two spaces in a row give an empty
+ * token, but the empty tokens at the end of a line are dropped (and a line with only spaces has no tokens), while an
+ * empty line gives one empty token. The lines end as in {@link java.util.Scanner#nextLine()}.
+ */
+class CommandReader implements Closeable {
+	/** Size of the read buffer */
+	private static final int BUFFER = 1 << 16;
+
+	/** The file */
+	private final BufferedReader in;
+	/** Characters of the token being read */
+	private final StringBuilder token = new StringBuilder();
+	/** Empty tokens read in the current line that weren't returned yet (they are only returned before a non empty
+	 * token of the same line) */
+	private int pendingEmpty;
+	/** Token that is returned after the pending empty tokens ({@code null} if there is none) */
+	private String pending;
+	/** {@code true} if the current line has no characters yet */
+	private boolean lineStart = true;
+	/** {@code true} if the last character was a carriage return (a line feed after it ends no line) */
+	private boolean afterCR;
+	/** {@code true} when the end of the file was reached */
+	private boolean eof;
+
+	/** Opens a command file.
+	 *
+	 * @param file_in name of the file.
+	 * @throws FileNotFoundException if the file can't be opened.
+	 */
+	CommandReader(String file_in) throws FileNotFoundException {
+		in = new BufferedReader(new InputStreamReader(new FileInputStream(file_in), Charset.defaultCharset()), BUFFER);
+	}
+
+	/** Reads the next token.
+	 *
+	 * @return the token, or {@code null} at the end of the file.
+	 * @throws UncheckedIOException if the file can't be read.
+	 */
+	String next() {
+		while (true) {
+			if (pending != null) {
+				if (pendingEmpty > 0) {
+					pendingEmpty--;
+					return "";
+				}
+				String out = pending;
+				pending = null;
+				return out;
+			}
+			if (eof)
+				return null;
+			int c;
+			try {
+				c = in.read();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+			if (c == '\n' && afterCR) {
+				afterCR = false;
+				continue;
+			}
+			afterCR = (c == '\r');
+			if (c < 0 || c == '\n' || c == '\r' || c == '\u2028' || c == '\u2029' || c == '\u0085') {
+				if (c < 0) {
+					eof = true;
+					close();
+					if (lineStart)
+						continue; // no line after the last line separator
+				}
+				endLine();
+			}
+			else if (c == ' ') {
+				lineStart = false;
+				if (token.length() == 0)
+					pendingEmpty++;
+				else
+					endToken();
+			}
+			else {
+				lineStart = false;
+				token.append((char) c);
+			}
+		}
+	}
+
+	/** Ends a non empty token: it is returned after the empty tokens before it.
+	 */
+	private void endToken() {
+		pending = token.toString();
+		token.setLength(0);
+	}
+
+	/** Ends a line: its last token is returned if it isn't empty (or if the line is empty), and the empty
+	 * tokens before it are dropped if it is.
+	 */
+	private void endLine() {
+		if (token.length() > 0)
+			endToken();
+		else if (lineStart)
+			pending = "";
+		else
+			pendingEmpty = 0;
+		lineStart = true;
+	}
+
+	/** Closes the file.
+	 */
+	@Override
+	public void close() {
+		try {
+			in.close();
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+}
@@ -0,0 +1,249 @@
+package blackjack;
+
+import java.io.PrintStream;
+import java.text.DecimalFormat;
+
+/**
+ * Listener that prints the game narration to the console (or to another stream), as the Interactive and Debug
+ * modes show it.
+ */
+public class ConsoleEventListener implements GameEventListener {
+
+	/** Where the narration is printed */
+	private final ConsoleWriter console;
+
+	/** Creates a listener that prints to the standard output.
+	 */
+	public ConsoleEventListener() {
+		this(System.out);
+	}
+
+	/** Creates a listener that prints to a stream, line by line (for example, to capture the narration of a game).
+	 * @param out_in stream where the narration is printed
+	 */
+	public ConsoleEventListener(PrintStream out_in) {
+		this(new ConsoleWriter(out_in, 0));
+	}
+
+	/** Creates a listener that prints to a console shared with the game mode, which is flushed at the end of
+	 * each round and when the player quits.
+	 * @param console_in where the narration is printed
+	 */
+	ConsoleEventListener(ConsoleWriter console_in) {
+		console = console_in;
+	}
+
+	/** Prints a play and the hand number, if the player has more than one hand.
+	 * @param play the play
+	 * @param index index of the hand
+	 */
+	private void play(String play, int index) {
+		StringBuilder line = console.line().append(play);
+		if (index != -1)
+			line.append(" [").append(index+1).append("] ");
+		console.endLine();
+	}
+
+	@Override
+	public void shuffling() {
+		console.println("shuffling the shoe...");
+	}
+
+	@Override
+	public void illegalCommand(Command cmd) {
+		console.println(cmd + ": illegal command");
+	}
+
+	@Override
+	public void illegalBet(int bet) {
+		console.println("b " + bet + ": illegal command");
+	}
+
+	@Override
+	public void illegalBet(String text) {
+		console.println(text + ": illegal command");
+	}
+
+	@Override
+	public void betPlaced(int bet) {
+		console.line().append("player is betting ").append(bet);
+		console.endLine();
+	}
+
+	@Override
+	public void balance(float balance) {
+		console.line().append("Player's current balance is ").append(balance);
+		console.endLine();
+	}
+
+	/** Prints the statistics information, for both the player and the dealer, formated with 2 decimal places.
+	 */
+	@Override
+	public void stats(PlayerStats pStats, Stats dStats, float balance) {
+		DecimalFormat df = new DecimalFormat("#.##");
+		console.println("BJ P/D \t" + df.format(pStats.getBJavg())+ " / " + df.format(dStats.getBJavg()));
+		console.println("Win  \t" + df.format(pStats.getWLPavg(1)));
+		console.println("Lose \t" + df.format(pStats.getWLPavg(-1)));
+		console.println("Push \t" + df.format(pStats.getWLPavg(0)));
+		console.println("Balance\t" + balance + " / " + df.format(pStats.percentageOfGain(balance)));
+	}
+
+	/** Prints the net result per round, in units of the initial bet: its mean (the expected value) and variance,
+	 * the standard error and 95% confidence interval of the mean, and the expected value per 100 rounds.
+	 * Not a game event: it is printed with the statistics at the end of a simulation.
+	 * @param rounds net results of the rounds
+	 */
+	public void roundStats(RunningStats rounds) {
+		DecimalFormat df = new DecimalFormat("#.####");
+		double half = rounds.getHalfWidth95();
+		console.println("Rounds\t" + rounds.getN());
+		console.println("EV   \t" + df.format(rounds.getMean()) + " / " + df.format(100*rounds.getMean()) + " per 100");
+		console.println("Var  \t" + df.format(rounds.getVariance()));
+		console.println("SE   \t" + df.format(rounds.getStandardError()));
+		console.println("95% CI\t" + df.format(rounds.getMean() - half) + " / " + df.format(rounds.getMean() + half));
+	}
+
+	@Override
+	public void betAdvice(int ace5, int standard) {
+		console.println("Ace5 \t\tbet " + ace5);
+		console.println("Standard Bet\tbet " + standard);
+	}
+
+	@Override
+	public void playAdvice(Command basic, Command hiLo) {
+		console.println("Basic\t\t" + getFullAdvice(basic));
+		console.println("HiLo\t\t" + getFullAdvice(hiLo));
+	}
+
+	/** Receives a play command and puts it into a advice-friendly format, to be printed
+	 * @param cmd advised command
+	 * @return advised command with the command name
+	 */
+	static String getFullAdvice(Command cmd) {
+		switch (cmd) {
+			case STAND:
+				return "stand";
+			case INSURANCE:
+				return "insurance";
+			case SURRENDER:
+				return "surrender";
+			case SPLIT:
+				return "split";
+			case HIT:
+				return "hit";
+			case DOUBLE:
+				return "double";
+			default:
+				return "Invalid option";
+		}
+	}
+
+	@Override
+	public void quit() {
+		console.println("bye");
+		console.flush();
+	}
+
+	@Override
+	public void dealerHand(Hand hand) {
+		hand.appendTo(console.line().append("dealer's hand "));
+		console.endLine();
+	}
+
+	/** Displays the player's hand
+	 * <p> If index is -1 then the player only has one Hand and so the affix
+	 * with the hand number won't show up
+	 */
+	@Override
+	public void playerHand(PlayerHand hand, int index) {
+		StringBuilder line = console.line().append("player's hand ");
+		if (index != -1)
+			line.append('[').append(index+1).append("] ");
+		hand.appendTo(line);
+		console.endLine();
+	}
+
+	@Override
+	public void playingHand(PlayerHand hand, int index) {
+		if (index == 0)
+			console.println("playing 1st hand...");
+		else if (index == 1)
+			console.println("playing 2nd hand...");
+		else if (index == 2)
+			console.println("playing 3rd hand...");
+		else
+			console.println("playing 4th hand...");
+		playerHand(hand, index);
+	}
+
+	@Override
+	public void playerHits() {
+		console.println("player hits");
+	}
+
+	@Override
+	public void playerBusts(int index) {
+		play("player busts", index);
+	}
+
+	@Override
+	public void playerStands(int index) {
+		play("player stands", index);
+	}
+
+	@Override
+	public void playerSurrenders(int index) {
+		play("player is surrendering", index);
+	}
+
+	@Override
+	public void playerSplits() {
+		console.println("player is splitting");
+	}
+
+	@Override
+	public void playerInsures() {
+		console.println("player is insuring");
+	}
+
+	@Override
+	public void dealerHits() {
+		console.println("dealer hits");
+	}
+
+	@Override
+	public void dealerBusts() {
+		console.println("dealer busts");
+	}
+
+	@Override
+	public void dealerStands() {
+		console.println("dealer stands");
+	}
+
+	@Override
+	public void blackjack() {
+		console.println("blackjack!!");
+	}
+
+	@Override
+	public void insuranceWon() {
+		console.println("Player wins insurance");
+	}
+
+	@Override
+	public void handResult(int result, int index, float balance) {
+		StringBuilder line = console.line().append("Player ").append((result == 1) ? "wins" : (result == -1) ? "loses" : "pushes");
+		if (index != -1)
+			line.append(" [").append(index+1).append(']');
+		line.append(" and his current balance is ").append(balance);
+		console.endLine();
+	}
+
+	@Override
+	public void roundEnded() {
+		console.endLine();
+		console.flush();
+	}
+
+}
@@ -0,0 +1,82 @@
+package blackjack;
+
+import java.io.PrintStream;
+
+/**
+ * Writes the lines of a game transcript to a stream in batches.
+ * <p>
+ * Lines are built in a reusable buffer (see {@link #line()}), and the buffer is only written to the stream when
+ * it is flushed or when it is larger than the batch size. The console of a game is shared by its listener and
+ * its mode, so that the commands echoed and the narration stay in order: the Debug mode flushes it once per
+ * round and the Interactive mode before each prompt.
+ */
+class ConsoleWriter {
+	/** Default batch size, in characters */
+	static final int BATCH = 1 << 13;
+	/** Line separator (the same as {@link PrintStream#println()}) */
+	private static final String NEW_LINE = System.lineSeparator();
+
+	/** The stream */
+	private final PrintStream out;
+	/** Number of characters buffered before the buffer is written without being flushed (0 to write every line) */
+	private final int batch;
+	/** Lines not written yet */
+	private final StringBuilder buffer = new StringBuilder();
+
+	/** Creates a writer that writes in batches of {@link #BATCH} characters.
+	 * @param out_in the stream
+	 */
+	ConsoleWriter(PrintStream out_in) {
+		this(out_in, BATCH);
+	}
+
+	/** Creates a writer.
+	 * @param out_in the stream
+	 * @param batch_in number of characters buffered before they are written (0 to write every line)
+	 */
+	ConsoleWriter(PrintStream out_in, int batch_in) {
+		out = out_in;
+		batch = batch_in;
+	}
+
+	/** Starts a line: its text is appended to the buffer that is returned, and {@link #endLine()} ends it.
+	 * @return the buffer
+	 */
+	StringBuilder line() {
+		return buffer;
+	}
+
+	/** Ends a line, and writes the buffer if it is larger than the batch size (or flushes it, if every line is written).
+	 */
+	void endLine() {
+		buffer.append(NEW_LINE);
+		if (batch == 0)
+			flush();
+		else if (buffer.length() >= batch)
+			write();
+	}
+
+	/** Writes a whole line.
+	 * @param text text of the line
+	 */
+	void println(String text) {
+		buffer.append(text);
+		endLine();
+	}
+
+	/** Writes the buffered lines to the stream, and flushes it.
+	 */
+	void flush() {
+		write();
+		out.flush();
+	}
+
+	/** Writes the buffered lines to the stream.
+	 */
+	private void write() {
+		if (buffer.length() > 0) {
+			out.append(buffer);
+			buffer.setLength(0);
+		}
+	}
+}
@@ -1,5 +1,8 @@
 package blackjack;
 
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
 /** Class that implements a blackjack Dealer.
  * 	<p> The dealer is also responsible for creating the game shoe. 
  * 
@@ -17,6 +20,10 @@ public class Dealer {
 	 * Dealer's current playing hand
 	 */
 	protected Hand hand;
+	/**
+	 * Observers of the cards that are shown and of the shuffles
+	 */
+	private CardObserver[] observers = new CardObserver[0];
 		
 	/** Creates a new Dealer with a random shoe and an empty hand.
 	 * @param nDecks_in Number of decks that compose the shoe.
@@ -26,6 +33,15 @@ public class Dealer {
 		hand = new Hand();
 	}
 	
+	/** Creates a new Dealer with a random shoe and an empty hand.
+	 * @param nDecks_in Number of decks that compose the shoe.
+	 * @param rng_in Random number generator used to shuffle the shoe.
+	*/
+	public Dealer(int nDecks_in, RandomGenerator rng_in) {
+		shoe = new Shoe(nDecks_in, rng_in);
+		hand = new Hand();
+	}
+	
 	/** Creates a new Dealer with a shoe read from a file and an empty hand.
 	 * @param shoeFile_in shoe file from which the shoe will be created.
 	*/
@@ -41,31 +57,49 @@ public class Dealer {
 		hand.addCard(card);
 	}
 	
+	/** Adds an observer of the cards that are shown and of the shuffles.
+	 * @param observer the observer.
+	*/
+	public void addObserver(CardObserver observer) {
+		observers = Arrays.copyOf(observers, observers.length + 1);
+		observers[observers.length - 1] = observer;
+	}
+	
+	/** Notifies the observers that a card was shown.
+	 * @param card the card.
+	*/
+	private void cardSeen(Card card) {
+		for (CardObserver observer : observers)
+			observer.cardSeen(card);
+	}
+	
 	/** Shuffles the shoe.
 	*/
 	public void shuffle() {
 		shoe.shuffle();
+		for (CardObserver observer : observers)
+			observer.shuffled();
 	}
 			
-	/** Deals a card from the shoe
+	/** Deals a card from the shoe, face up (the observers are notified)
 	*/
 	public Card dealCards() {
-		return shoe.getCard();
+		Card card = shoe.getCard();
+		cardSeen(card);
+		return card;
 	}
 	
-	/** Prints the dealer's hand
+	/** Deals the dealer's hole card from the shoe, face down (the observers are only notified when it is turned up)
 	*/
-	public void printDealersHand(){
-		String out = new String();
-		out += "dealer's hand ";
-		out += hand.toString();
-		System.out.println(out);	
+	public Card dealHoleCard() {
+		return shoe.getCard();
 	}
 	
 	/** Sets the dealer's hand to a visible status
 	*/
 	public void setVisible() {
-		hand.cards.get(1).setIsUp(true);
+		hand.turnHoleUp();
+		cardSeen(hand.cards.get(1));
 	}
 	
 	/** Clears the hand of the dealer.
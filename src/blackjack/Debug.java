@@ -1,10 +1,6 @@
 package blackjack;
 
-import java.io.File;
 import java.io.FileNotFoundException;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Scanner;
 
 /** 
  * Class that gets the commands when in Debug mode <p>
@@ -13,109 +9,127 @@ import java.util.Scanner;
 public class Debug implements GameMode {
 
 	/**
-	 * List of readable commands
+	 * Tokens of the command file, read as they are needed
 	 */
-	ArrayList<String> cmds;
+	private final CommandReader tokens;
 	/**
 	 * File with all the commands
 	 */
 	String cmdFile;
+	/**
+	 * Token read after a "b" that wasn't its value, and is the next command ({@code null} if there is none)
+	 */
+	private String lookahead;
+	/**
+	 * Number of commands read
+	 */
+	private long nCommands;
+	/**
+	 * Value of the last bet command
+	 */
+	private int bet;
+	/**
+	 * Text of the last bet command
+	 */
+	private String betText;
+	/**
+	 * Where the commands are echoed
+	 */
+	private final ConsoleWriter console;
 	
 	
-	/** Debug Mode. Reads all the commands from the cmdFile and places them in an ArrayList of Strings
-	 * <p>
-	 * Separates the commands correctly, and joins commands that should be together, like b [bet value]. 
-	 * Also checks if the bet value is an integer.
+	/** Debug Mode, with the commands echoed to the standard output
 	 * 
 	 * @param cmdFile_in Name of the file with the commands.
+	 * @throws IllegalArgumentException if the file can't be opened.
 	 * 
 	 */
 	public Debug (String cmdFile_in) {
-		
-		cmdFile = cmdFile_in;		
-		cmds = new ArrayList<String>();
-		
-		Scanner scanner;
+		this(cmdFile_in, new ConsoleWriter(System.out, 0));
+	}
+	
+	/** Debug Mode. Opens the cmdFile, whose commands are read one at a time, when they are needed
+	 * <p>
+	 * Separates the commands correctly, and joins commands that should be together, like b [bet value] 
+	 * (even if they are on different lines). Also checks if the bet value is an integer.
+	 * 
+	 * @param cmdFile_in Name of the file with the commands.
+	 * @param console_in Where the commands are echoed (shared with the game narration).
+	 * @throws IllegalArgumentException if the file can't be opened.
+	 * 
+	 */
+	Debug (String cmdFile_in, ConsoleWriter console_in) {
+		cmdFile = cmdFile_in;
+		console = console_in;
 		try {
-			scanner = new Scanner(new File(cmdFile));
-			String line = new String();
-			while (scanner.hasNextLine()) {
-				line = scanner.nextLine();
-				cmds.addAll(Arrays.asList(line.split(" ", 0)));
-			}
-			scanner.close();
+			tokens = new CommandReader(cmdFile);
 		} catch (FileNotFoundException e) {
-			System.out.println("Invalid command file: " + e);
-			System.exit(0);
-		}		
-		
-		for (int i = 0; i < cmds.size(); i++) {
-			if (cmds.get(i).equals("b") && (isNumeric(cmds.get(i+1)))) {
-				cmds.add(i+1, cmds.get(i) + " " + cmds.get(i+1));
-				cmds.remove(i);
-				cmds.remove(i+1);
+			throw new IllegalArgumentException("Invalid command file: " + e, e);
+		}
+	}
+	
+	/** Reads the next command from the file: a token, joined with the next one if it is a "b" followed by
+	 * a bet value.
+	 * 
+	 * @return the command, or {@code null} if there are no more.
+	 */
+	private String nextCommand() {
+		String cmd = lookahead;
+		lookahead = null;
+		if (cmd == null)
+			cmd = tokens.next();
+		if (cmd != null && cmd.equals("b")) {
+			lookahead = tokens.next();
+			if (isNumeric(lookahead)) {
+				cmd = cmd + " " + lookahead;
+				lookahead = null;
 			}
 		}
+		return cmd;
 	}
 	
 	/** 
-	 * Gets a valid command from the previously computed list of commands.
+	 * Gets a valid command from the command file.
 	 * <p>
-	 * If the command isn't recognize, prints an error message and returns an empty string
+	 * If the command isn't recognize, prints an error message and returns INVALID
 	*/
 	@Override
-	public String getPlayCommand() {
-		if(cmds.size() == 0) return "q";
-		String next_cmd = cmds.get(0);
-		cmds.remove(0);
-		System.out.println("# " + next_cmd);
+	public Command getPlayCommand() {
+		String next_cmd = nextCommand();
+		if (next_cmd == null) return Command.QUIT;
+		Command cmd;
+		bet = NO_BET;
 		if (next_cmd.length() <= 2) {
-			if (next_cmd.equals("h"))
-				return "h";
-			else if (next_cmd.equals("s"))
-				return "s";
-			else if (next_cmd.equals("d"))
-				return "d";
-			else if (next_cmd.equals("b"))
-				return "b";
-			else if (next_cmd.equals("i"))
-				return "i";
-			else if (next_cmd.equals("u"))
-				return "u";
-			else if (next_cmd.equals("p"))
-				return "p";
-			else if (next_cmd.equals("2"))
-				return "2";
-			else if (next_cmd.equals("ad"))
-				return "a";
-			else if (next_cmd.equals("st"))
-				return "t";
-			else if (next_cmd.equals("$"))
-				return "$";
-			else if (next_cmd.equals("q"))
-				return "q";
+			cmd = Command.parse(next_cmd);
+			betText = next_cmd;
+		}
+		else if (next_cmd.charAt(0) == 'b') {
+			cmd = Command.BET;
+			betText = next_cmd;
+			if (next_cmd.startsWith("b "))
+				bet = Integer.parseInt(next_cmd.substring(2));
 		}
-		else if (next_cmd.charAt(0) == 'b')
-			return next_cmd;
-		
-		System.out.println(next_cmd + ": illegal command");
-		return "";
+		else
+			cmd = Command.INVALID;
+		nCommands++;
+		console.line().append("# ").append(next_cmd);
+		console.endLine();
+		if (cmd == Command.INVALID) {
+			console.line().append(next_cmd).append(": illegal command");
+			console.endLine();
+		}
+		return cmd;
 	}
 
 	
-	/** Converts all the commands to a string (testing only).
+	/** Describes the command source (testing only).
 	 * 
-	 * @return Resulting String with all the commands
+	 * @return the command file and the number of commands read so far
 	 * 
 	 */
 	@Override
 	public String toString() {
-		String out = new String();
-		for (String cmd : cmds) {
-			out += cmd;
-			out += '\n';
-		}
-		return out;
+		return cmdFile + ": " + nCommands + " commands read";
 	}
 
 	/** Checks if a String is a number (useful to check the betting value).
@@ -139,14 +153,28 @@ public class Debug implements GameMode {
 	/** Same as in {@link getPlayCommand}
 	 */
 	@Override
-	public String getBetCommand() {
+	public Command getBetCommand() {
 		return getPlayCommand();
 	}
+	
+	/** Gets the value of the last bet command read from the file
+	 */
+	@Override
+	public int getBet() {
+		return bet;
+	}
+	
+	/** Gets the text of the last bet command read from the file
+	 */
+	@Override
+	public String getBetText() {
+		return betText;
+	}
 
 	/** Same as in {@link getPlayCommand}
 	 */
 	@Override
-	public String getPlayCommand(int nHands, PlayerHand p_hand, Hand d_hand, int bet) {
+	public Command getPlayCommand(int nHands, PlayerHand p_hand, Hand d_hand, int bet) {
 		return getPlayCommand();
 	}
 }
\ No newline at end of file
@@ -1,14 +1,18 @@
 package blackjack;
 
-import java.text.DecimalFormat;
+import java.io.InputStream;
+import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.random.RandomGenerator;
 
 import cardCounting.Ace5;
 import cardCounting.Basic;
 import cardCounting.BettingStrategy;
+import cardCounting.DeviationTable;
 import cardCounting.HiLo;
 import cardCounting.PlayerStrategy;
 import cardCounting.StandardStrategy;
+import cardCounting.StrategyTable;
 
 
 /** Class that implements a blackjack game
@@ -22,6 +26,8 @@ import cardCounting.StandardStrategy;
 */
 public class Game {
 	
+	/** Maximum number of seats at a table */
+	public static final int MAX_SEATS = 7;
 	/** Object that will get the game commands according to the game mode 
 	 * (actual mode specified at run time). */
 	private GameMode mode;
@@ -39,6 +45,8 @@ public class Game {
 	private boolean isReady = false;
 	/** Signals if a round is about to start ({@code true}) */	
 	private boolean startRound = false;
+	/** Set when a quit ("q") command is issued in the middle of a round: the round is abandoned and the game ends */
+	private boolean quit = false;
 	/** {@code true} when the deck is to be shuffled. Defaults to {@code true} at the Game constructor 
 	 * for the simulation and interactive modes (shuffle at the beggining) and is always {@code false}
 	 * for the debug mode */	
@@ -48,23 +56,31 @@ public class Game {
 	 * hand that stands). If there aren't any hands at play before the dealers turn, he will only flip 
 	 * its hole card and automatically stand, since he already won to all players' hands. */	
 	private boolean noHandsLeft;
-	/** In Simulation mode the commands and its results aren't supposed to be printed to the console */	
-	private boolean printFlag;
-	/** Game player */	
-	private Player player;
+	/** Balance of each player before the bet of the current round was placed (to get the net result of the round) */
+	private float[] roundBalance;
+	/** If each player plays the current round (a seat whose bet was rejected sits the round out) */
+	private boolean[] inRound;
+	/** Receives the game narration: in Simulation mode the commands and its results aren't supposed to be 
+	 * printed to the console, so it ignores them; in the other modes it prints them */	
+	private GameEventListener listener;
+	/** Players seated at the table, in the order they play: only the Simulation mode can have more than one seat,
+	 * and all of them play each round against the same dealer, from the same shoe */	
+	private Player[] players;
 	/** Game dealer */	
 	private Dealer dealer;
 	/** dealer Statistics */	
 	private Stats dStats;
-	/** player Statistics (object will be created with type PlayerStats) */	
-	private Stats pStats;
+	/** player Statistics, one for each seat */	
+	private PlayerStats[] pStats;
 	/** Available betting strategies. Can be 1 or more (in the case of this version, 
 	 * 1 or 2, but more betting strategies could be added).
-	 * <p> For simplicity, the position 0 will always be the Standard betting Strategy, when available. */
+	 * <p> For simplicity, the position 0 will always be the Standard betting Strategy, when available.
+	 * <p> In Simulation mode, there is only one, shared by all the seats (each seat has its own bet in it). */
 	private ArrayList<BettingStrategy> bet_strat;
 	/** Available playing strategies. Can be 1 or more (in the case of this version, 
 	 * 1 or 2, but more playing strategies could be added).
-	 * <p> For simplicity, the position 0 will always be the Hi-Lo playing Strategy, when available. */
+	 * <p> For simplicity, the position 0 will always be the Hi-Lo playing Strategy, when available.
+	 * <p> In Simulation mode, there is only one, shared by all the seats. */
 	protected ArrayList<PlayerStrategy> game_strat;
 	
 	/** Constructor for the Interactive and Simulation Modes.
@@ -82,45 +98,128 @@ public class Game {
 	 * command is issued, we're supposed to get information for all the available card counting strategies.
 	 * <p>
 	 * When in simulation mode only on combination betting + playing strategy is created 
+	 * <p>
+	 * The shoe is shuffled with a randomly seeded generator.
 	 */
 	public Game(char Mode_in, int minBet_in, int maxBet_in, int balance_in, int nDecks_in, int intShuffle_in, int sNumber_in, String strategy_in) {
+		this(Mode_in, minBet_in, maxBet_in, balance_in, nDecks_in, intShuffle_in, sNumber_in, strategy_in, RandomGenerator.getDefault(),
+				StrategyTable.BASIC, DeviationTable.HI_LO_BASIC);
+	}
+	
+	/** Constructor for the Interactive and Simulation Modes, with the random number generator used to shuffle the shoe
+	 * and the strategy tables.
+	 * 
+	 * @param Mode_in Selection of the simulation/interactive mode.
+	 * @param minBet_in Minimum value for the bet that is allowed.
+	 * @param maxBet_in Maximum value for the bet that is allowed.
+	 * @param balance_in Starting player balance.
+	 * @param nDecks_in Number of decks in the shoe.
+	 * @param intShuffle_in Percentage of the shoe that has to be played before shuffling.
+	 * @param sNumber_in Number of shuffles until the end of the simulation (when in simulation mode).
+	 * @param strategy_in Represents the strategy that will be used (when in simulation mode).
+	 * @param rng_in Random number generator used to shuffle the shoe (the game is reproducible if it is seeded).
+	 * @param table_in Basic Strategy table used by the playing strategies.
+	 * @param deviations_in Index plays used by the Hi-Lo strategy (layered over table_in).
+	 * @throws IllegalArgumentException if the strategy doesn't exist (in simulation mode).
+	 */
+	public Game(char Mode_in, int minBet_in, int maxBet_in, int balance_in, int nDecks_in, int intShuffle_in, int sNumber_in, String strategy_in,
+			RandomGenerator rng_in, StrategyTable table_in, DeviationTable deviations_in) {
+		this(Mode_in, minBet_in, maxBet_in, balance_in, nDecks_in, intShuffle_in, sNumber_in, strategy_in, rng_in, table_in,
+				deviations_in, 1);
+	}
+	
+	/** Constructor for the Interactive and Simulation Modes, with several seats at the table (Simulation mode only).
+	 * <p> Every seat has its own player and statistics, and the seats play in order, from the same shoe, against
+	 * one dealer turn per round. The strategies are shared by the seats: they count the cards once for all of them,
+	 * and each seat keeps its own bet.
+	 * 
+	 * @param Mode_in Selection of the simulation/interactive mode.
+	 * @param minBet_in Minimum value for the bet that is allowed.
+	 * @param maxBet_in Maximum value for the bet that is allowed.
+	 * @param balance_in Starting balance of each player.
+	 * @param nDecks_in Number of decks in the shoe.
+	 * @param intShuffle_in Percentage of the shoe that has to be played before shuffling.
+	 * @param sNumber_in Number of shuffles until the end of the simulation (when in simulation mode).
+	 * @param strategy_in Represents the strategy that will be used by every seat (when in simulation mode).
+	 * @param rng_in Random number generator used to shuffle the shoe (the game is reproducible if it is seeded).
+	 * @param table_in Basic Strategy table used by the playing strategies.
+	 * @param deviations_in Index plays used by the Hi-Lo strategy (layered over table_in).
+	 * @param nSeats_in Number of seats (1 in interactive mode).
+	 * @throws IllegalArgumentException if the strategy doesn't exist (in simulation mode) or the number of seats
+	 * isn't valid.
+	 */
+	public Game(char Mode_in, int minBet_in, int maxBet_in, int balance_in, int nDecks_in, int intShuffle_in, int sNumber_in, String strategy_in,
+			RandomGenerator rng_in, StrategyTable table_in, DeviationTable deviations_in, int nSeats_in) {
+		this(Mode_in, minBet_in, maxBet_in, balance_in, nDecks_in, intShuffle_in, sNumber_in, strategy_in, rng_in, table_in,
+				deviations_in, nSeats_in, System.in, System.out);
+	}
+	
+	/** Constructor for an Interactive Mode game played over a pair of streams instead of the console (for example,
+	 * a network connection, see {@link GameServer}). The commands are read line by line from in_in, with the same
+	 * grammar as in the console, and the game ends at the end of the input.
+	 * 
+	 * @param minBet_in Minimum value for the bet that is allowed.
+	 * @param maxBet_in Maximum value for the bet that is allowed.
+	 * @param balance_in Starting player balance.
+	 * @param nDecks_in Number of decks in the shoe.
+	 * @param intShuffle_in Percentage of the shoe that has to be played before shuffling.
+	 * @param rng_in Random number generator used to shuffle the shoe.
+	 * @param in_in Where the commands are read from.
+	 * @param out_in Where the game narration is printed (flushed before each command is read).
+	 */
+	public Game(int minBet_in, int maxBet_in, int balance_in, int nDecks_in, int intShuffle_in, RandomGenerator rng_in,
+			InputStream in_in, PrintStream out_in) {
+		this('i', minBet_in, maxBet_in, balance_in, nDecks_in, intShuffle_in, -1, null, rng_in, StrategyTable.BASIC,
+				DeviationTable.HI_LO_BASIC, 1, in_in, out_in);
+	}
+	
+	/** Constructor for the Interactive and Simulation Modes (see the public ones), with the streams used by the
+	 * Interactive mode.
+	 */
+	private Game(char Mode_in, int minBet_in, int maxBet_in, int balance_in, int nDecks_in, int intShuffle_in, int sNumber_in, String strategy_in,
+			RandomGenerator rng_in, StrategyTable table_in, DeviationTable deviations_in, int nSeats_in, InputStream in_in,
+			PrintStream out_in) {
+		if (nSeats_in < 1 || nSeats_in > MAX_SEATS || (Mode_in == 'i' && nSeats_in != 1))
+			throw new IllegalArgumentException("Invalid number of seats");
 		if (Mode_in == 'i') { // Interactive mode
-			printFlag = true; // prints can be done
-			mode = new Interative();
+			ConsoleWriter console = new ConsoleWriter(out_in);
+			listener = new ConsoleEventListener(console); // prints can be done
+			mode = new Interative(in_in, console);
 			/* Both playing strategies */
 			game_strat = new ArrayList<PlayerStrategy>();
-			game_strat.add(new HiLo(maxBet_in, 9, 11, nDecks_in));
-			game_strat.add(new Basic(maxBet_in, 9, 11)); 
+			game_strat.add(new HiLo(maxBet_in, 9, 11, nDecks_in, deviations_in));
+			game_strat.add(new Basic(maxBet_in, 9, 11, table_in)); 
 			/* Both betting strategies */
 			bet_strat = new ArrayList<BettingStrategy>();
 			bet_strat.add(new StandardStrategy(minBet_in, maxBet_in));
 			bet_strat.add(new Ace5(minBet_in, maxBet_in));
 		}
 		else { // Simulation mode
-			printFlag = false; // no prints can be done (except the statistics in the end)
+			listener = GameEventListener.NONE; // no prints can be done (except the statistics in the end)
 			game_strat = new ArrayList<PlayerStrategy>();
 			bet_strat = new ArrayList<BettingStrategy>();
-			/* Only one betting and playing strategies, depending on the received arguments */
+			/* Only one betting and playing strategies, depending on the received arguments, shared by all the seats
+			 * (every seat sees the same cards, so one count for each counting system is enough) */
 			if (strategy_in.equals("BS")) {
-				game_strat.add(new Basic(maxBet_in, 9, 11));
+				game_strat.add(new Basic(maxBet_in, 9, 11, table_in));
 				bet_strat.add(new StandardStrategy(minBet_in, maxBet_in));
 			}
 			else if (strategy_in.equals("BS-AF")) {
-				game_strat.add(new Basic(maxBet_in, 9, 11));
-				bet_strat.add(new Ace5(minBet, maxBet));
+				game_strat.add(new Basic(maxBet_in, 9, 11, table_in));
+				bet_strat.add(new Ace5(minBet_in, maxBet_in));
 			}
 			else if (strategy_in.equals("HL")) {
-				game_strat.add(new HiLo(maxBet_in, 9, 11, nDecks_in));
+				game_strat.add(new HiLo(maxBet_in, 9, 11, nDecks_in, deviations_in));
 				bet_strat.add(new StandardStrategy(minBet_in, maxBet_in));
 			}
 			else if (strategy_in.equals("HL-AF")) {
-				game_strat.add(new HiLo(maxBet_in, 9, 11, nDecks_in));
+				game_strat.add(new HiLo(maxBet_in, 9, 11, nDecks_in, deviations_in));
 				bet_strat.add(new Ace5(minBet_in, maxBet_in));
 			}
-			else {
-				System.out.println("Invalid betting strategy");
-				System.exit(0);				
-			}
+			else
+				throw new IllegalArgumentException("Invalid betting strategy");
+			if (nSeats_in > 1)
+				bet_strat.get(0).setSeats(nSeats_in);
 			mode = new Simulation(sNumber_in, game_strat.get(0), bet_strat.get(0));
 		}
 		/* In both cases, flags are set in a similar way, and both player and dealer, as well as their statistics
@@ -132,12 +231,12 @@ public class Game {
 	
 		shuffling = true;
 		
-		player = new Player(minBet, balance_in);
-		dealer = new Dealer(nDecks_in);
+		seat(nSeats_in, balance_in);
+		dealer = new Dealer(nDecks_in, rng_in);
 		
 		dStats = new Stats();
-		pStats = new PlayerStats(balance_in);
 		
+		addCardObservers();
 	}
 
 	/** Constructor for the Debug Mode.
@@ -151,21 +250,39 @@ public class Game {
 	 * <p>
 	 * In Debug mode both betting and playing strategies are applied, since the advice command ("ad")
 	 * can still be issued. 
+	 * @throws IllegalArgumentException if the shoe or command file can't be read.
 	 */
 	public Game(char Mode_in, int minBet_in, int maxBet_in, int balance_in, String shoeFile_in, String cmdFile_in) {
-		printFlag = true; // Commands should be printed
-		mode = new Debug(cmdFile_in);
+		this(Mode_in, minBet_in, maxBet_in, balance_in, shoeFile_in, cmdFile_in, System.out);
+	}
+
+	/** Constructor for the Debug Mode, with the commands and the game narration printed to a stream
+	 * (in batches, written at the end of each round).
+	 * 
+	 * @param Mode_in Debug mode.
+	 * @param minBet_in Minimum value for the bet that is allowed.
+	 * @param maxBet_in Maximum value for the bet that is allowed.
+	 * @param balance_in Current balance.
+	 * @param shoeFile_in File with the shoe going in the game.
+	 * @param cmdFile_in Name of the file with the commands to be issued.
+	 * @param out_in Stream where the commands and the game narration are printed.
+	 * @throws IllegalArgumentException if the shoe or command file can't be read.
+	 */
+	public Game(char Mode_in, int minBet_in, int maxBet_in, int balance_in, String shoeFile_in, String cmdFile_in,
+			PrintStream out_in) {
+		ConsoleWriter console = new ConsoleWriter(out_in);
+		listener = new ConsoleEventListener(console); // Commands should be printed
+		mode = new Debug(cmdFile_in, console);
 		
 		minBet = minBet_in;
 		maxBet = maxBet_in;
 	
 		shuffling = false; // Shuffle is initialized to false and will always be false
 
-		player = new Player(minBet, balance_in);
+		seat(1, balance_in);
 		dealer = new Dealer(shoeFile_in);
 		
 		dStats = new Stats();
-		pStats = new PlayerStats(balance_in);
 		
 		// Get approximated number of decks from the shoe file read
 		nDecks = dealer.shoe.getNDecks();
@@ -176,80 +293,169 @@ public class Game {
 		bet_strat = new ArrayList<BettingStrategy>();
 		bet_strat.add(new StandardStrategy(minBet, maxBet));
 		bet_strat.add(new Ace5(minBet, maxBet));
+		
+		addCardObservers();
 	}
 	
-	/** Receives a play command and puts it into a advice-friendly format, to be printed
-	 * @param cmd advised command in short form
-	 * @return advised command with the command name
+	/** Creates the players seated at the table and their statistics.
+	 * @param nSeats number of seats
+	 * @param balance starting balance of each player
 	 */
-	private String getFullAdvice(String cmd) {
-		if (cmd.equals("s"))
-			return "stand";
-		else if (cmd.equals("i"))
- 			return "insurance";
- 		else if (cmd.equals("u"))
-			return "surrender";
-		else if (cmd.equals("p"))
-			return "split";
-		else if (cmd.equals("h"))
-			return "hit";
-		else if (cmd.equals("2"))
-			return "double";
-		else
-			return "Invalid option";
+	private void seat(int nSeats, int balance) {
+		players = new Player[nSeats];
+		pStats = new PlayerStats[nSeats];
+		roundBalance = new float[nSeats];
+		inRound = new boolean[nSeats];
+		for (int s = 0; s < nSeats; s++) {
+			players[s] = new Player(minBet, balance);
+			pStats[s] = new PlayerStats(balance);
+		}
+	}
+	
+	/** Subscribes the counting strategies (the betting strategies and the playing strategies that count cards) 
+	 * to the cards seen by the dealer.
+	 */
+	private void addCardObservers() {
+		for (BettingStrategy strat : bet_strat)
+			dealer.addObserver(strat);
+		for (PlayerStrategy strat : game_strat)
+			if (strat instanceof CardObserver)
+				dealer.addObserver((CardObserver) strat);
+	}
+	
+	/** Adds an observer of the cards that are seen and of the shuffles (for example, another counting system to
+	 * be run side by side with the game strategies).
+	 * @param observer the observer
+	 */
+	public void addCardObserver(CardObserver observer) {
+		dealer.addObserver(observer);
 	}
 	
 	/**
-	 * Shuffles the shoe and resets the adequate counting strategies' counters;
+	 * Shuffles the shoe (the dealer resets the counting strategies' counters);
 	 * If the game is in simulation mode, increment the counter of the number of shuffles
-	 * (since this is its stopping criterion)
+	 * (since this is its stopping criterion) and check its stop criterion, if any (see {@link StopCriterion})
 	 */
 	private void shuffleState() {
-		if ((mode instanceof Simulation))
+		if ((mode instanceof Simulation)) {
 			((Simulation) mode).incCurrSNumber();
-		for (int i = 0; i < bet_strat.size(); i++)
-			bet_strat.get(i).resetCount();
-		if ((game_strat.get(0) instanceof HiLo))
-			((HiLo) game_strat.get(0)).resetCounts();
-		if (printFlag)
-			System.out.println("shuffling the shoe...");
+			((Simulation) mode).checkStop(pStats);
+		}
+		listener.shuffling();
 		dealer.shuffle();
 	}
 	
 	/**
 	 * A bet is placed, if its value is valid, that is, if it is between min_bet and max_bet.
 	 * If not, prints an error message.
-	 * <p> If the bet is successfully placed, sets the new bet in the used betting strategies.
+	 * <p> If the bet is successfully placed, sets the new bet in the used betting strategies (with several seats,
+	 * the seat must be selected in them) and the player plays the next round; if not, the player sits it out.
+	 * @param seat seat of the player
 	 * @param bet betting value
 	 * @return true if betting was successful (a valid bet was issued), false otherwise.
 	 */
-	private boolean bettingState(int bet) {
+	private boolean bettingState(int seat, int bet) {
 		if (bet < minBet || bet > maxBet) {
-			if (printFlag)
-				System.out.println("b " + bet + ": illegal command");
+			listener.illegalBet(bet);
+			inRound[seat] = false;
 			return false;
 		}
-		player.placeBet(bet);
+		roundBalance[seat] = players[seat].getBalance();
+		players[seat].placeBet(bet);
 		for (int i = 0; i < bet_strat.size(); i++)
 			bet_strat.get(i).setBet(bet);
-		if (printFlag)
-			System.out.println("player is betting " + bet);
+		listener.betPlaced(bet);
+		inRound[seat] = true;
 		return true;
 	}
 	
 	/**
-	 * Prints the statistics information in the console, for both the player and the dealer, formated with 2 decimal places.
+	 * Gets the number of seats at the table.
+	 * @return number of seats
+	 */
+	int getNSeats() {
+		return players.length;
+	}
+	
+	/**
+	 * Gets the player statistics (of the first seat).
+	 * @return player statistics
+	 */
+	PlayerStats getPlayerStats() {
+		return pStats[0];
+	}
+	
+	/**
+	 * Gets the statistics of the player of a seat.
+	 * @param seat the seat
+	 * @return player statistics
+	 */
+	PlayerStats getPlayerStats(int seat) {
+		return pStats[seat];
+	}
+	
+	/**
+	 * Prints the statistics information in the console, for both the player and the dealer, formated with 2 decimal places
+	 * (with several seats, for each one of them).
+	 */
+	void printStatsState() {
+		ConsoleEventListener console = new ConsoleEventListener();
+		for (int s = 0; s < players.length; s++) {
+			if (players.length > 1)
+				System.out.println("Seat " + (s+1));
+			console.stats(pStats[s], dStats, players[s].getBalance());
+			console.roundStats(pStats[s].getRounds());
+		}
+	}
+	
+	/**
+	 * Sets the listener that receives the game narration (by default, the console for the Interactive and Debug
+	 * modes and none for the Simulation mode).
+	 * @param listener_in listener of the game events
+	 */
+	public void setEventListener(GameEventListener listener_in) {
+		listener = listener_in;
+	}
+
+	/**
+	 * Sets the criterion that ends a simulation before all its shoes are played (only used in Simulation mode).
+	 * @param stop_in stop criterion
+	 */
+	public void setStopCriterion(StopCriterion stop_in) {
+		if (mode instanceof Simulation)
+			((Simulation) mode).setStopCriterion(stop_in);
+	}
+
+	/**
+	 * Replaces the dealer's shoe (for example, by a {@link ReplayShoe}), before the game is played.
+	 * @param shoe_in the new shoe
 	 */
-	private void printStatsState() {
-		DecimalFormat df = new DecimalFormat("#.##");
-		System.out.println("BJ P/D \t" + df.format(pStats.getBJavg())+ " / " + df.format(dStats.getBJavg()));
-		System.out.println("Win  \t" + df.format(((PlayerStats) pStats).getWLPavg(1)));
-		System.out.println("Lose \t" + df.format(((PlayerStats) pStats).getWLPavg(-1)));
-		System.out.println("Push \t" + df.format(((PlayerStats) pStats).getWLPavg(0)));
-		System.out.println("Balance\t" + player.getBalance() + " / " + 
-				df.format(((PlayerStats) pStats).percentageOfGain(player.getBalance())));
+	void setShoe(Shoe shoe_in) {
+		dealer.shoe = shoe_in;
 	}
+
+	/**
+	 * Gets the listener that receives the game narration.
+	 * @return listener of the game events
+	 */
+	public GameEventListener getEventListener() {
+		return listener;
+	}
+
 	
+	/**
+	 * Adds the results of another game (a simulation shard played with the same settings) to this one:
+	 * the statistics are added and the gain (or loss) of each of the other players is added to the balance of
+	 * the player of the same seat.
+	 * @param other game whose results are added
+	 */
+	void merge(Game other) {
+		dStats.merge(other.dStats);
+		for (int s = 0; s < players.length; s++) {
+			pStats[s].merge(other.pStats[s]);
+			players[s].updateBalance(other.players[s].getBalance() - other.pStats[s].getInitBalance());
+		}
+	}
 	
 	/**
 	 * Play State: first method called when starting a new blackjack game and at the beginning
@@ -259,104 +465,127 @@ public class Game {
 	 * waits for a deal ("d") command to be issued so that it calls the playRound state (unless the game is in 
 	 * Simulation mode, there, goes directly to the playRound state).
 	 * <p> Also allows commands for printing statistics, player balance, betting advice and quiting the game.
+	 * Returns when a quit ("q") command is issued (if it is issued during a round, the round is abandoned).
 	 */
 	public void play() {
-				
-		while(true) {
+		while(playStep());
+	}
+	
+	/**
+	 * Plays the game until it ends (see {@link #play()}) and gets its results.
+	 * <p> A game only uses its own state (and its own mode and listener), so several games can be played at the
+	 * same time, on different threads.
+	 * @return results of the game
+	 */
+	public GameResults run() {
+		play();
+		float[] balances = new float[players.length];
+		for (int s = 0; s < players.length; s++)
+			balances[s] = players[s].getBalance();
+		return new GameResults(dStats, pStats.clone(), balances);
+	}
+	
+	/**
+	 * One step of the play state (see {@link #play()}): resets the hands, shuffles if needed, reads one command and 
+	 * handles it, playing a round if the game is ready for it. In simulation mode, every step plays a round.
+	 * @return {@code false} if a quit ("q") command was issued (before or during a round), {@code true} otherwise
+	 */
+	public boolean playStep() {
+		for (Player player : players)
 			player.clearHands();
-			dealer.clearHand();
-			/* Shuffle if the number of dealt cards surpassed the intShuffle threshold,
-			* unless the program is running on Debug Mode */
-			if(!(mode instanceof Debug) && dealer.shoe.getNDealtCards() >= Math.ceil(intShuffle/100.0f * nDecks * 52)) {
-				shuffling = true;
-			}
-			if(shuffling) {
-				shuffleState();
-				shuffling = false;
-			}
-			/* Gets a command from a source, either the command line, a file or the simulator 
-			 * Valid commands at this stage: b [<value>] and d, in this order;
-			 * isReady flags that a "d" command should be issued; no more "b" commands are accepted.*/
-			String s = mode.getBetCommand();
-			if(s.isBlank()) continue; // Command in a bad format; "\0" was returned;
-			String[] toks = s.split(" ", 0);
-			if(toks[0].charAt(0) == 'b') {
+		dealer.clearHand();
+		/* Shuffle if the number of dealt cards surpassed the intShuffle threshold,
+		* unless the program is running on Debug Mode */
+		if(!(mode instanceof Debug) && dealer.shoe.getNDealtCards() >= Math.ceil(intShuffle/100.0f * dealer.shoe.getNCards())) {
+			shuffling = true;
+		}
+		if(shuffling) {
+			shuffleState();
+			shuffling = false;
+		}
+		/* Gets a command from a source, either the command line, a file or the simulator 
+		 * Valid commands at this stage: b [<value>] and d, in this order;
+		 * isReady flags that a "d" command should be issued; no more "b" commands are accepted.*/
+		Command cmd = mode.getBetCommand();
+		if(cmd == Command.INVALID) return true; // Command in a bad format (already reported)
+		switch(cmd) {
+			case BET:
 				if(isReady) {
-					if (printFlag)
-						System.out.println(s + ": illegal command");
+					listener.illegalBet(mode.getBetText());
 				}
 				else {
-					int bet = (toks.length == 1) ? minBet : Integer.parseInt(toks[1]);
-					isReady = bettingState(bet);
-					if(mode instanceof Simulation) startRound = true;
+					int bet = (mode.getBet() == GameMode.NO_BET) ? minBet : mode.getBet();
+					isReady = bettingState(0, bet);
+					if(mode instanceof Simulation) {
+						startRound = isReady;
+						// The other seats bet too (the simulation ends for all of them at once); a seat whose bet is
+						// rejected sits the round out, and the round is only played if any seat placed its bet
+						for (int s = 1; s < players.length; s++) {
+							((Simulation) mode).setSeat(s);
+							mode.getBetCommand();
+							if (bettingState(s, mode.getBet()))
+								startRound = true;
+						}
+						if (players.length > 1)
+							((Simulation) mode).setSeat(0);
+					}
 				}
-			}else if(toks[0].charAt(0) == 'd') {
+				break;
+			case DEAL:
 				if(isReady) {
 					startRound = true;
 				} else {
-					if (printFlag)
-						System.out.println(toks[0] + ": illegal command");
+					listener.illegalCommand(cmd);
 				}
-			} else if(toks[0].charAt(0) == '$') {
-				if (printFlag)
-					System.out.println("Player's current balance is " + player.getBalance());
-			} else if(toks[0].charAt(0) == 't') {
-				printStatsState();
-			} else if(toks[0].charAt(0) == 'a') {
+				break;
+			case BALANCE:
+				listener.balance(players[0].getBalance());
+				break;
+			case STATS:
+				listener.stats(pStats[0], dStats, players[0].getBalance());
+				break;
+			case ADVICE:
 				if(isReady) {
-					if (printFlag)
-						System.out.println(s + ": illegal command");
+					listener.illegalCommand(cmd);
 				}
 				else {
-					if (printFlag) {
-						System.out.println("Ace5 \t\tbet " + bet_strat.get(1).getNextBet());
-						System.out.println("Standard Bet\tbet " + bet_strat.get(0).getNextBet());
-					}
+					listener.betAdvice(bet_strat.get(1).getNextBet(), bet_strat.get(0).getNextBet());
 				}
-			} else if(toks[0].charAt(0) == 'q') {
-				if (printFlag)
-					System.out.println("bye");
-				else
-					printStatsState();
-				System.exit(0);				
-			} else {
-				if (printFlag)
-					System.out.println(s + ": illegal command");
-			}
-			
-			if(startRound) {
-				playRound();
-				isReady = false;
-				startRound = false;
-			}
+				break;
+			case QUIT:
+				// In simulation mode the statistics are printed by whoever ran the simulation
+				listener.quit();
+				return false;
+			default:
+				listener.illegalCommand(cmd);
+		}
+		
+		if(startRound) {
+			playRound();
+			isReady = false;
+			startRound = false;
 		}
+		return !quit;
 	}
 		
 	/**
-	 * The dealer deals cards to himself (firstly, and with one hole card), and then to the player.
-	 * All the betting and playing strategies are updated, as well as the statistics information
+	 * The dealer deals cards to himself (firstly, and with one hole card), and then to the players, seat by seat.
+	 * The counting strategies see every card except the hole card (the dealer notifies them), and the
+	 * statistics information is updated
 	 */
 	private void dealState() {
-		for(int i = 0; i < 2; ++i) {
-			Card c = dealer.dealCards();
-			if (i == 0) {
-				for (int j = 0; j < bet_strat.size(); j++)
-					bet_strat.get(j).updateCount(c);
-				if(game_strat.get(0) instanceof HiLo)
-					((HiLo) game_strat.get(0)).updateCounts(c);
-			}
-			dealer.addCard(c);
-		}
+		dealer.addCard(dealer.dealCards());
+		dealer.addCard(dealer.dealHoleCard());
 		dStats.incHandsPlayed();
-		for(int i = 0; i < 2; ++i) {
-			Card c = dealer.dealCards();
-			for (int j = 0; j < bet_strat.size(); j++)
-				bet_strat.get(j).updateCount(c);
-			if(game_strat.get(0) instanceof HiLo)
-				((HiLo) game_strat.get(0)).updateCounts(c);
-			player.addCard(0, c);
+		for (int s = 0; s < players.length; s++) {
+			if (!inRound[s])
+				continue;
+			for(int i = 0; i < 2; ++i) {
+				Card c = dealer.dealCards();
+				players[s].addCard(0, c);
+			}
+			pStats[s].incHandsPlayed();
 		}
-		pStats.incHandsPlayed();
 	}
 	
 	/**
@@ -364,44 +593,29 @@ public class Game {
 	 * (up to a maximum of four).
 	 * <p> The playing commands are obtained depending on the game mode. Throughout the player's turn, 
 	 * all the counts related to betting and playing strategies, as well as to the statistics, are updated.
+	 * @param seat seat of the player
 	 */
-	private void playersTurn() {
+	private void playersTurn(int seat) {
 		
-		String line;
-		String hand_index;
+		Player player = players[seat];
+		Command cmd;
 		int print_index;
 		
 		for(int i = 0; i < player.getNHands(); ++i) {
 			print_index = -1;
-			hand_index = "";
 			// If there was a split before and the current hand only has one card
-			if(player.hands.get(i).isSplit() && player.hands.get(i).getNCards() == 1) {
+			if(player.hands[i].isSplit() && player.hands[i].getNCards() == 1) {
 				// get a new card and update all the game information
 				Card c = dealer.dealCards();
-				for (int j = 0; j < bet_strat.size(); j++)
-					bet_strat.get(j).updateCount(c);
-				if(game_strat.get(0) instanceof HiLo)
-					((HiLo) game_strat.get(0)).updateCounts(c);
 				player.addCard(i, c);
-				if(player.hands.get(i).getFirst().getValue().equals("A") && !(c.getValue().equals("A"))) {
+				if(player.hands[i].getFirst().getValue().equals("A") && !(c.getValue().equals("A"))) {
 					player.stand(i);
 				}
 			}
 			// If the player has more than one hand (already splitted)
 			if(player.getNHands() > 1) {
 				print_index = i;
-				hand_index =  " [" + (i+1) + "] ";
-				if (printFlag) {
-					if (i == 0)
-						System.out.println("playing 1st hand...");
-					else if (i == 1)
-						System.out.println("playing 2nd hand...");
-					else if (i == 2)
-						System.out.println("playing 3rd hand...");
-					else
-						System.out.println("playing 4th hand...");
-					player.printPlayersHand(print_index);
-				}
+				listener.playingHand(player.hands[i], print_index);
 			}
 			/* if the player already stood (or was forced to do so, for example, after splitting a pair of 
 			* and receiving a card different than an Ace in any of those hands) */
@@ -413,102 +627,89 @@ public class Game {
 			while(true) {
 				if(mode instanceof Simulation) 
 					// get command from a playing strategy
-					line = mode.getPlayCommand(player.getNHands(), player.hands.get(i), dealer.hand, player.getBet());
+					cmd = mode.getPlayCommand(player.getNHands(), player.hands[i], dealer.hand, player.getBet());
 				else
 					// get command from console or file
-					line = mode.getPlayCommand(); 
-				if(line.isBlank()) continue; // Blank line return, invalid command was detected
-				char cmd = line.charAt(0);
+					cmd = mode.getPlayCommand(); 
+				if(cmd == Command.INVALID) continue; // Invalid command was detected (already reported)
 				// sets some state variables according to the play
-				if(cmd == 'h') {
-					if ((player.hands.get(i).isSplit() && (player.hands.get(i).getNCards() == 2) && (player.hands.get(i).getFirst().getValue().equals("A")))) {
-						if (printFlag)
-							System.out.println(line + ": illegal command");
-					}
-					else
-						player.hit(i);
-				}
-				else if(cmd == 's') {
-					player.stand(i);
-				} 
-				else if(cmd == 'i') {
-					if (player.hands.get(i).isOpening() && dealer.hand.getFirst().getValue().equals("A") &&
-							!player.isInsuring()) {
-						player.insurance();
-						if (printFlag)
-							System.out.println("player is insuring");
-					}
-					else {
-						if (printFlag)
-							System.out.println(line + ": illegal command");
-					}
-				}
-				else if(cmd == 'u') {
-					if (player.hands.get(i).getNCards()==2)
-						player.surrender(i);
-					else {
-						if (printFlag)
-							System.out.println(line + ": illegal command");
-					}
-				}
-				else if(cmd == 'p') {
-					if (player.hands.get(i).isPair() && (player.getNHands() <= 3))
-						player.setIsSplitting(true);
-					else {
-						if (printFlag)
-							System.out.println(line + ": illegal command");
-					}
-				}
-				else if(cmd == '2') {
-					if (player.hands.get(i).getNCards() == 2 && player.hands.get(i).getValue()>8 && player.hands.get(i).getValue()<12)
-						player.doubleD(i);
-					else {
-						if (printFlag)
-							System.out.println(line + ": illegal command");					
-					}
-				} 
-				else if(cmd == 'a') { 
-					String play = game_strat.get(1).getNextPlay(player.getNHands(), player.hands.get(i), dealer.hand, player.getBet());
-					if (printFlag)
-						System.out.println("Basic\t\t" + getFullAdvice(play));
-					play = game_strat.get(0).getNextPlay(player.getNHands(), player.hands.get(i), dealer.hand, player.getBet());
-					if (printFlag)
-						System.out.println("HiLo\t\t" + getFullAdvice(play));
-				} else if(cmd == 't') {
-					if (printFlag)
-						printStatsState();
-				} else if(cmd == '$') {
-					if (printFlag)
-						System.out.println("Player's current balance is " + player.getBalance());
-				} else if(cmd == 'q') {
-					if (printFlag)
-						System.out.println("bye");
-					System.exit(0);
-				} else {
-					if (printFlag)
-						System.out.println(line + ": illegal command");					
+				switch(cmd) {
+					case HIT:
+						if ((player.hands[i].isSplit() && (player.hands[i].getNCards() == 2) && (player.hands[i].getFirst().getValue().equals("A")))) {
+							listener.illegalCommand(cmd);
+						}
+						else
+							player.hit(i);
+						break;
+					case STAND:
+						player.stand(i);
+						break;
+					case INSURANCE:
+						if (player.hands[i].isOpening() && dealer.hand.getFirst().getValue().equals("A") &&
+								!player.isInsuring()) {
+							player.insurance();
+							listener.playerInsures();
+						}
+						else {
+							listener.illegalCommand(cmd);
+						}
+						break;
+					case SURRENDER:
+						if (player.hands[i].getNCards()==2)
+							player.surrender(i);
+						else {
+							listener.illegalCommand(cmd);
+						}
+						break;
+					case SPLIT:
+						if (player.hands[i].isPair() && (player.getNHands() <= 3))
+							player.setIsSplitting(true);
+						else {
+							listener.illegalCommand(cmd);
+						}
+						break;
+					case DOUBLE:
+						if (player.hands[i].getNCards() == 2 && player.hands[i].getValue()>8 && player.hands[i].getValue()<12)
+							player.doubleD(i);
+						else {
+							listener.illegalCommand(cmd);
+						}
+						break;
+					case ADVICE:
+						Command basic = game_strat.get(1).getNextPlay(player.getNHands(), player.hands[i], dealer.hand, player.getBet());
+						Command hiLo = game_strat.get(0).getNextPlay(player.getNHands(), player.hands[i], dealer.hand, player.getBet());
+						listener.playAdvice(basic, hiLo);
+						break;
+					case STATS:
+						listener.stats(pStats[seat], dStats, player.getBalance());
+						break;
+					case BALANCE:
+						listener.balance(player.getBalance());
+						break;
+					case QUIT:
+						listener.quit();
+						quit = true;
+						return;
+					case BET:
+						listener.illegalBet(mode.getBetText());
+						break;
+					default:
+						listener.illegalCommand(cmd);
 				}
 				
 				// Uses the previously set state variables to actually perform the corresponding play
 				if(player.isHittingHand(i)) {
 					// gets a card and updates all the game information
 					if(!player.isDoubleDHand(i)) {
-						if (printFlag)
-							System.out.println("player hits");
+						listener.playerHits();
 					}
 					Card c = dealer.dealCards();
-					for (int j = 0; j < bet_strat.size(); j++)
-						bet_strat.get(j).updateCount(c);
-					if(game_strat.get(0) instanceof HiLo)
-						((HiLo) game_strat.get(0)).updateCounts(c);
 					player.addCard(i, c);
-					if (printFlag)
-						player.printPlayersHand(print_index);
-					player.hands.get(i).setHitting(false);
+					listener.playerHand(player.hands[i], print_index);
+					player.hands[i].setHitting(false);
 					// If a player busts, set its state and go to the next hand (if there is one)
-					if(player.hands.get(i).isBust()) {
-						if (printFlag)
-							System.out.println("player busts" + hand_index);
+					if(player.hands[i].isBust()) {
+						listener.playerBusts(print_index);
 						break;
 					}
 					// If the player doubled down, he is forced to stand afterwards (could only take one more card)
@@ -518,29 +719,22 @@ public class Game {
 					}
 				} // Player stands this hand; set the state and go to the next one (if there's one)
 				else if(player.isStandingHand(i)) {
-					if (printFlag)
-						System.out.println("player stands" + hand_index);
+					listener.playerStands(print_index);
 					break;
 				} // Player surrenders this hand; set the state and go to the next one (if there's one)
 				else if(player.isSurrendingHand(i)) {
-					if (printFlag)
-						System.out.println("player is surrendering" + hand_index);
+					listener.playerSurrenders(print_index);
 					break;
 				} /* Player splits: performs the split action, adds a card to the first of the splitted hands
 				 and updates the information accordingly. Allows the player to play on this hand */
 				else if(player.isSplitting()) {
-					pStats.incHandsPlayed();
-					if (printFlag)
-						System.out.println("player is splitting");
+					pStats[seat].incHandsPlayed();
+					listener.playerSplits();
 					player.split(i);
 					Card c = dealer.dealCards();
-					for (int j = 0; j < bet_strat.size(); j++)
-						bet_strat.get(j).updateCount(c);
-					if(game_strat.get(0) instanceof HiLo)
-						((HiLo) game_strat.get(0)).updateCounts(c);	
 					player.addCard(i, c);
 					// If the player splitted a pair of aces and the next card is not an ace, the player can no longer hit
-					if(player.hands.get(i).getFirst().getValue().equals("A") && !(c.getValue().equals("A")))
+					if(player.hands[i].getFirst().getValue().equals("A") && !(c.getValue().equals("A")))
 						player.stand(i);
 					i--;
 					break;
@@ -558,33 +752,21 @@ public class Game {
 	private void dealersTurn() {
 
 		dealer.setVisible();
-		for (int j = 0; j < bet_strat.size(); j++)
-			bet_strat.get(j).updateCount(dealer.hand.cards.get(1));
-		if(game_strat.get(0) instanceof HiLo)
-			((HiLo) game_strat.get(0)).updateCounts(dealer.hand.getFirst());
 		
 		while(true) {
-			if (printFlag)
-			dealer.printDealersHand();
+			listener.dealerHand(dealer.hand);
 			int dHandValue = dealer.hand.getValue();
 			if(dHandValue > 21) {
-				if (printFlag)
-					System.out.println("dealer busts");
+				listener.dealerBusts();
 				break;
 			}
 			if(dHandValue < 17 && !noHandsLeft) {
 				Card c = dealer.dealCards();
-				for (int j = 0; j < bet_strat.size(); j++)
-					bet_strat.get(j).updateCount(c);
-				if(game_strat.get(0) instanceof HiLo)
-					((HiLo) game_strat.get(0)).updateCounts(c);
 				dealer.addCard(c);
-				if (printFlag)
-					System.out.println("dealer hits");
+				listener.dealerHits();
 			} else {
 				dealer.hand.setIsStanding(true);
-				if (printFlag)
-					System.out.println("dealer stands");
+				listener.dealerStands();
 				break;
 			}
 		}
@@ -602,41 +784,48 @@ public class Game {
 		
 		dealState();
 		
-		if (printFlag) {
-			dealer.printDealersHand();
-			player.printPlayersHand(-1);
-		}
+		listener.dealerHand(dealer.hand);
+		for (int s = 0; s < players.length; s++)
+			if (inRound[s])
+				listener.playerHand(players[s].hands[0], -1);
 		
-		playersTurn();
+		for (int s = 0; s < players.length; s++) {
+			if (!inRound[s])
+				continue;
+			playersTurn(s);
+			if (quit)
+				return; // the round was abandoned
+		}
 		
 		noHandsLeft = true;
-		for(PlayerHand h : player.hands) {
-			if(h.isStanding()) {
-				noHandsLeft = false;
-				break;
+		for (int s = 0; s < players.length; s++)
+			for(int i = 0; inRound[s] && i < players[s].getNHands(); i++) {
+				if(players[s].hands[i].isStanding()) {
+					noHandsLeft = false;
+					break;
+				}
 			}
-		}
 
 		dealersTurn();
 		
 		if (dealer.hand.checkBlackjack()) {
-			if (printFlag)
-				System.out.println("blackjack!!");
+			listener.blackjack();
 		}
 		else
-			for(int i = 0; i < player.getNHands(); ++i)
-				if (player.hands.get(i).checkBlackjack()) {
-					if (printFlag)
-						System.out.println("blackjack!!");
-						break;
-				}
+			search:
+			for (int s = 0; s < players.length; s++)
+				for(int i = 0; inRound[s] && i < players[s].getNHands(); ++i)
+					if (players[s].hands[i].checkBlackjack()) {
+						listener.blackjack();
+						break search;
+					}
 		
 		resultsState();
 		
 	}
 	
 	/**
-	 * For each player hand, checks the round result, updates the player's balance accordingly,
+	 * For each player hand (seat by seat, only the seats that played the round), checks the round result, updates the player's balance accordingly,
 	 * prints the right information (if prints are allowed) and updates all the game information (
 	 * betting strategies counts and bet values and statistics values).
 	 * <p>
@@ -645,67 +834,79 @@ public class Game {
 	private void resultsState() {
 
 		if (dealer.hand.checkBlackjack()) dStats.incBlackjacks();
+		for (int s = 0; s < players.length; s++) {
+			if (!inRound[s])
+				continue;
+			if (players.length > 1) {
+				((Simulation) mode).setSeat(s);
+				listener.seatResults(s);
+			}
+			seatResults(s);
+		}
+		if (players.length > 1)
+			((Simulation) mode).setSeat(0);
+		listener.roundEnded();
+	}
+	
+	/**
+	 * Checks the results of the hands of a seat (see {@link #resultsState()}).
+	 * @param seat seat of the player
+	 */
+	private void seatResults(int seat) {
+		Player player = players[seat];
+		PlayerStats stats = pStats[seat];
+		BettingStrategy betting = bet_strat.get(0);
 		for(int i = 0; i < player.getNHands(); ++i) {
-			if (player.hands.get(i).checkBlackjack()) pStats.incBlackjacks();
+			if (player.hands[i].checkBlackjack()) stats.incBlackjacks();
 			float mult = 1;
 			int res;
-			int bet =  player.hands.get(i).getBet();
-			String res_str = new String();
+			int bet =  player.hands[i].getBet();
 			if(player.isInsuring() && dealer.hand.checkBlackjack()) {
-				if (printFlag)
-					System.out.println("Player wins insurance");
+				listener.insuranceWon();
 				player.updateBalance(2*bet);
 			}
-			if(player.hands.get(i).isSurrender()) {
+			if(player.hands[i].isSurrender()) {
 				mult = 0.5f;
 				res = -1;
-				res_str += "loses";
 			}
 			else {
-				res = result(i);
+				res = result(player, i);
 				if(res != 0) {
 					if(res == -1) {
 						mult = 0;
-						res_str += "loses";
 					} else {
-						boolean splited_blackjack = (player.hands.get(i).isSplit() && 
-								player.hands.get(i).cards.get(0).getValue().equals("A"));
-						mult = (player.hands.get(i).checkBlackjack() && !(splited_blackjack) )  ? 2.5f : 2;
-						res_str += "wins";
+						boolean splited_blackjack = (player.hands[i].isSplit() && 
+								player.hands[i].cards.get(0).getValue().equals("A"));
+						mult = (player.hands[i].checkBlackjack() && !(splited_blackjack) )  ? 2.5f : 2;
 					}
-				} else
-					res_str += "pushes";
+				}
 			}
 				
-			((PlayerStats) pStats).incWLP(res);
-			if(bet_strat.get(0) instanceof StandardStrategy)
-				((StandardStrategy) bet_strat.get(0)).updateBet(res);
+			stats.incWLP(res);
+			if(betting instanceof StandardStrategy)
+				((StandardStrategy) betting).updateBet(res);
 			player.updateBalance(mult*bet);
 			
-			String hand_index = "";
-			if(player.getNHands() > 1)
-				hand_index = " [" + (i+1) + "]";
-			if (printFlag)
-				System.out.println("Player " + res_str + hand_index + " and his current balance is " + player.getBalance());
+			listener.handResult(res, (player.getNHands() > 1) ? i : -1, player.getBalance());
 		}
-		if (printFlag)
-			System.out.println();
+		stats.addRound((player.getBalance() - roundBalance[seat]) / player.getBet());
 	}
 	
 	/** Calculates the results
 	 * 
+	 * @param player player whose hand is being checked
 	 * @param i player hand in which the result is being computed
 	 * @return result: 1 - player wins, 0 - player pushes, -1 - player loses
 	 * 
 	 */
-	private int result(int i) {
-		if(player.hands.get(i).isBust()) return -1;
+	private int result(Player player, int i) {
+		if(player.hands[i].isBust()) return -1;
 		if(dealer.hand.isBust()) return 1;
-		if (player.hands.get(i).checkBlackjack())
+		if (player.hands[i].checkBlackjack())
 			return dealer.hand.checkBlackjack() ? 0 : 1;
 		else if (dealer.hand.checkBlackjack()) 
 			return -1;
-		int playerScore = player.hands.get(i).getValue();
+		int playerScore = player.hands[i].getValue();
 		int dealerScore = dealer.hand.getValue();
 		if (playerScore < dealerScore)
 			return -1;
@@ -0,0 +1,141 @@
+package blackjack;
+
+/**
+ * Interface for the receivers of the game narration.
+ * <p>
+ * Everything a game tells about itself (bets, plays, hands, results, advice and statistics) is reported to a
+ * listener, which decides what to do with it. Every method does nothing by default, so a listener only has to
+ * implement the events it cares about.
+ * <p>
+ * The Interactive and Debug modes use a {@link ConsoleEventListener}, which prints the events to the console;
+ * the Simulation mode uses {@link #NONE}, so that no output is built while simulating.
+ * <p>
+ * The index of a player's hand is -1 when the player only has one hand (and no hand number is shown).
+ */
+public interface GameEventListener {
+
+	/** Listener that ignores every event */
+	public static final GameEventListener NONE = new GameEventListener() {};
+
+	/** The shoe is being shuffled */
+	public default void shuffling() {}
+
+	/** A command that isn't allowed at this point of the game was issued.
+	 * @param cmd the command
+	 */
+	public default void illegalCommand(Command cmd) {}
+
+	/** A bet with a value that isn't allowed was issued.
+	 * @param bet value of the bet
+	 */
+	public default void illegalBet(int bet) {}
+
+	/** A bet command that isn't allowed at this point of the game was issued.
+	 * @param text the bet command, as it was issued
+	 */
+	public default void illegalBet(String text) {}
+
+	/** The player placed a bet.
+	 * @param bet value of the bet
+	 */
+	public default void betPlaced(int bet) {}
+
+	/** The player asked for the current balance.
+	 * @param balance player's balance
+	 */
+	public default void balance(float balance) {}
+
+	/** The player asked for the statistics.
+	 * @param pStats player's statistics
+	 * @param dStats dealer's statistics
+	 * @param balance player's balance
+	 */
+	public default void stats(PlayerStats pStats, Stats dStats, float balance) {}
+
+	/** The player asked for a betting advice.
+	 * @param ace5 bet advised by the Ace-Five strategy
+	 * @param standard bet advised by the Standard strategy
+	 */
+	public default void betAdvice(int ace5, int standard) {}
+
+	/** The player asked for a playing advice.
+	 * @param basic play advised by the Basic strategy
+	 * @param hiLo play advised by the Hi-Lo strategy
+	 */
+	public default void playAdvice(Command basic, Command hiLo) {}
+
+	/** The player quit the game */
+	public default void quit() {}
+
+	/** The dealer's hand changed (or is shown).
+	 * @param hand dealer's hand
+	 */
+	public default void dealerHand(Hand hand) {}
+
+	/** A player's hand changed (or is shown).
+	 * @param hand player's hand
+	 * @param index index of the hand
+	 */
+	public default void playerHand(PlayerHand hand, int index) {}
+
+	/** The player starts playing one of his hands, after a split.
+	 * @param hand player's hand
+	 * @param index index of the hand
+	 */
+	public default void playingHand(PlayerHand hand, int index) {}
+
+	/** The player hits */
+	public default void playerHits() {}
+
+	/** The player busts a hand.
+	 * @param index index of the hand
+	 */
+	public default void playerBusts(int index) {}
+
+	/** The player stands a hand.
+	 * @param index index of the hand
+	 */
+	public default void playerStands(int index) {}
+
+	/** The player surrenders a hand.
+	 * @param index index of the hand
+	 */
+	public default void playerSurrenders(int index) {}
+
+	/** The player splits a hand */
+	public default void playerSplits() {}
+
+	/** The player insures */
+	public default void playerInsures() {}
+
+	/** The dealer hits */
+	public default void dealerHits() {}
+
+	/** The dealer busts */
+	public default void dealerBusts() {}
+
+	/** The dealer stands */
+	public default void dealerStands() {}
+
+	/** There is a blackjack in the round */
+	public default void blackjack() {}
+
+	/** The player wins the insurance */
+	public default void insuranceWon() {}
+
+	/** The results of the hands of a seat follow (only with several seats at the table).
+	 * @param seat the seat
+	 */
+	public default void seatResults(int seat) {}
+
+	/** The result of a player's hand.
+	 * @param result 1 - player wins, 0 - player pushes, -1 - player loses
+	 * @param index index of the hand
+	 * @param balance player's balance after the result
+	 */
+	public default void handResult(int result, int index, float balance) {}
+
+	/** The round ended */
+	public default void roundEnded() {}
+
+}
@@ -9,12 +9,28 @@ package blackjack;
  * Debug: from the commands file <p>
  * Simulation: from a betting Strategy and a Counting strategy (hence the extra arguments, that are needed when
  * calling such strategies).
+ * <p>
+ * The commands are returned as {@link Command} values; the value of the last bet command is obtained with
+ * {@link #getBet()}, and its text, as it was issued, with {@link #getBetText()}.
  */
 
 interface GameMode {
+	
+	/** Value of the bet when a bet command has no value ("b" alone) */
+	public static final int NO_BET = Integer.MIN_VALUE;
 		
-	public String getBetCommand();
-	public String getPlayCommand();
-	public String getPlayCommand(int nHands, PlayerHand p_hand, Hand d_hand, int bet);
+	public Command getBetCommand();
+	public Command getPlayCommand();
+	public Command getPlayCommand(int nHands, PlayerHand p_hand, Hand d_hand, int bet);
+	/** Gets the value of the last bet command.
+	 * 
+	 * @return value of the bet, or {@link #NO_BET} if the command had no value.
+	 */
+	public int getBet();
+	/** Gets the text of the last bet command, as it was issued (to echo it when it isn't allowed).
+	 * 
+	 * @return text of the bet command.
+	 */
+	public String getBetText();
 
 }
@@ -0,0 +1,92 @@
+package blackjack;
+
+/**
+ * Results of a game that ended (see {@link Game#run()}): the statistics of the dealer and of the player of each
+ * seat, and the final balance of each player.
+ */
+public class GameResults {
+
+	/** Dealer statistics */
+	private final Stats dStats;
+	/** Player statistics, one for each seat */
+	private final PlayerStats[] pStats;
+	/** Final balance of each player */
+	private final float[] balances;
+
+	/** Creates the results of a game.
+	 *
+	 * @param dStats_in dealer statistics.
+	 * @param pStats_in player statistics of each seat.
+	 * @param balances_in final balance of each player.
+	 */
+	GameResults(Stats dStats_in, PlayerStats[] pStats_in, float[] balances_in) {
+		dStats = dStats_in;
+		pStats = pStats_in;
+		balances = balances_in;
+	}
+
+	/** Gets the number of seats at the table.
+	 *
+	 * @return number of seats.
+	 */
+	public int getNSeats() {
+		return pStats.length;
+	}
+
+	/** Gets the dealer statistics.
+	 *
+	 * @return dealer statistics.
+	 */
+	public Stats getDealerStats() {
+		return dStats;
+	}
+
+	/** Gets the statistics of the player of a seat.
+	 *
+	 * @param seat the seat.
+	 * @return player statistics.
+	 */
+	public PlayerStats getPlayerStats(int seat) {
+		return pStats[seat];
+	}
+
+	/** Gets the final balance of the player of a seat.
+	 *
+	 * @param seat the seat.
+	 * @return player balance.
+	 */
+	public float getBalance(int seat) {
+		return balances[seat];
+	}
+
+	/** Gets the balance gained (or lost, if negative) by all the players of the table.
+	 *
+	 * @return the gain.
+	 */
+	public double getGain() {
+		double gain = 0;
+		for (int s = 0; s < pStats.length; s++)
+			gain += balances[s] - pStats[s].getInitBalance();
+		return gain;
+	}
+
+	/** Gets the number of rounds played at the table.
+	 *
+	 * @return number of rounds.
+	 */
+	public long getRounds() {
+		return pStats[0].getRounds().getN();
+	}
+
+	/** Gets the net results of the rounds of every seat.
+	 *
+	 * @return accumulator of the net result per round (of every seat), in units of the initial bet.
+	 */
+	public RunningStats getSeatRounds() {
+		RunningStats rounds = new RunningStats();
+		for (PlayerStats stats : pStats)
+			rounds.merge(stats.getRounds());
+		return rounds;
+	}
+
+}
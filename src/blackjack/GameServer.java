@@ -0,0 +1,149 @@
+package blackjack;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.Charset;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+
+/**
+ * Class that serves Interactive mode games over TCP: every connection is a session with its own {@link Game}.
+ * <p>
+ * A session speaks the same command grammar as the console ({@code b}, {@code d}, {@code h}, {@code s}, {@code p},
+ * {@code 2}, {@code u}, {@code i}, {@code ad}, {@code st}, {@code $}, {@code q}), one command per line, and gets the
+ * same narration back. It ends with a quit command or when the client closes the connection.
+ * <p>
+ * Each session is played on its own virtual thread, so that thousands of them only take a few carrier threads: a
+ * session waiting for its next command is parked (the socket is read without blocking the carrier), and only the
+ * sessions with a command to play use a processor. The narration of a session is buffered and only written to the
+ * socket before it waits for the next command, in one write.
+ */
+public class GameServer {
+
+	/** Size of the socket output buffer of a session */
+	private static final int BUFFER = 1 << 13;
+	/** Maximum number of connections waiting to be accepted */
+	private static final int BACKLOG = 1 << 12;
+
+	/** Minimum value for the bet */
+	private final int minBet;
+	/** Maximum value for the bet */
+	private final int maxBet;
+	/** Starting player balance */
+	private final int balance;
+	/** Number of decks in the shoe */
+	private final int nDecks;
+	/** Percentage of the shoe that has to be played before shuffling */
+	private final int intShuffle;
+	/** The server socket */
+	private final ServerSocket server;
+	/** Number of sessions being played */
+	private final AtomicInteger active = new AtomicInteger();
+	/** Number of sessions started */
+	private final AtomicInteger started = new AtomicInteger();
+
+	/** Opens the server socket (the sessions are only accepted by {@link #serve()}).
+	 *
+	 * @param port_in Port the server listens on (0 for any free port), on every address.
+	 * @param minBet_in Minimum value for the bet that is allowed.
+	 * @param maxBet_in Maximum value for the bet that is allowed.
+	 * @param balance_in Starting player balance.
+	 * @param nDecks_in Number of decks in the shoe.
+	 * @param intShuffle_in Percentage of the shoe that has to be played before shuffling.
+	 * @throws IOException if the socket can't be opened.
+	 */
+	public GameServer(int port_in, int minBet_in, int maxBet_in, int balance_in, int nDecks_in, int intShuffle_in)
+			throws IOException {
+		this(port_in, null, minBet_in, maxBet_in, balance_in, nDecks_in, intShuffle_in);
+	}
+
+	/** Opens the server socket on one address (the sessions are only accepted by {@link #serve()}).
+	 *
+	 * @param port_in Port the server listens on (0 for any free port).
+	 * @param address_in Address the server listens on ({@code null} for every address).
+	 * @param minBet_in Minimum value for the bet that is allowed.
+	 * @param maxBet_in Maximum value for the bet that is allowed.
+	 * @param balance_in Starting player balance.
+	 * @param nDecks_in Number of decks in the shoe.
+	 * @param intShuffle_in Percentage of the shoe that has to be played before shuffling.
+	 * @throws IOException if the socket can't be opened.
+	 */
+	public GameServer(int port_in, InetAddress address_in, int minBet_in, int maxBet_in, int balance_in, int nDecks_in,
+			int intShuffle_in) throws IOException {
+		minBet = minBet_in;
+		maxBet = maxBet_in;
+		balance = balance_in;
+		nDecks = nDecks_in;
+		intShuffle = intShuffle_in;
+		server = new ServerSocket(port_in, BACKLOG, address_in);
+	}
+
+	/** Gets the port the server listens on.
+	 *
+	 * @return the port.
+	 */
+	public int getPort() {
+		return server.getLocalPort();
+	}
+
+	/** Gets the number of sessions being played.
+	 *
+	 * @return number of sessions.
+	 */
+	public int getActiveSessions() {
+		return active.get();
+	}
+
+	/** Accepts connections and starts a session for each one, until the server is closed.
+	 *
+	 * @throws IOException if a connection can't be accepted (but not when the server was closed).
+	 */
+	public void serve() throws IOException {
+		while (!server.isClosed()) {
+			Socket socket;
+			try {
+				socket = server.accept();
+			} catch (IOException e) {
+				if (server.isClosed())
+					return;
+				throw e;
+			}
+			active.incrementAndGet();
+			Thread.ofVirtual().name("session-" + started.incrementAndGet()).start(() -> session(socket));
+		}
+	}
+
+	/** Plays the session of a connection, and closes it when the game ends.
+	 *
+	 * @param socket the connection.
+	 */
+	private void session(Socket socket) {
+		try (socket) {
+			socket.setTcpNoDelay(true); // the narration is already written in one piece per command
+			PrintStream out = new PrintStream(new BufferedOutputStream(socket.getOutputStream(), BUFFER), false,
+					Charset.defaultCharset());
+			Game game = new Game(minBet, maxBet, balance, nDecks, intShuffle, RandomGenerator.getDefault(),
+					socket.getInputStream(), out);
+			game.play();
+			out.flush();
+		} catch (IOException | UncheckedIOException e) {
+			// the client went away: its game is simply dropped
+		} finally {
+			active.decrementAndGet();
+		}
+	}
+
+	/** Closes the server: no more connections are accepted (the sessions being played go on until they end).
+	 *
+	 * @throws IOException if the socket can't be closed.
+	 */
+	public void close() throws IOException {
+		server.close();
+	}
+
+}
@@ -12,30 +12,51 @@ public class Hand {
 	 */
 	protected ArrayList<Card> cards;
 	/**
-	 * total hand value
+	 * state of the hand (see {@link HandState})
 	 */
-	protected int value;
+	protected int state;
 	/**
-	 * number of cards in the hand
+	 * info of the state: total hand value and flags (see {@link HandState#getInfo(int)})
 	 */
-	protected int nCards;
+	protected int info;
 	/**
-	 * flag that signals if an hand has busted (true)
+	 * number of cards in the hand
 	 */
-	protected boolean isBust;
+	protected int nCards;
 	/**
 	 * flag that signals if an hand stands (true)
 	 */
 	protected boolean isStanding;
-	
+	/**
+	 * flag that signals if the second card (the dealer's hole card) is face up (true).
+	 * All the other cards are always face up.
+	 */
+	protected boolean isHoleUp;
+	/**
+	 * read-only view of the visible cards (see {@link #getCards()})
+	 */
+	private final List<Card> visible_cards = new AbstractList<Card>() {
+		@Override
+		public Card get(int index) {
+			if (index < 0 || index >= getNVisible())
+				throw new IndexOutOfBoundsException(index);
+			return getCard(index);
+		}
+		@Override
+		public int size() {
+			return getNVisible();
+		}
+	};
+
 	/** Creates an empty hand of cards.
 	 */
 	public Hand() {
 		cards = new ArrayList<Card>();
-		value = 0;
+		state = HandState.EMPTY;
+		info = HandState.getInfo(state);
 		nCards = 0;
-		isBust = false;
 		isStanding = false;
+		isHoleUp = false;
 	}
 	
 	/** Checks if the hand busts.
@@ -44,7 +65,7 @@ public class Hand {
 	 * 
 	*/
 	public boolean isBust() {
-		return isBust;
+		return (info & HandState.BUST) != 0;
 	}
 	
 	/** Sets the isStanding variable.
@@ -69,7 +90,7 @@ public class Hand {
 	 * 
 	*/
 	public boolean checkBlackjack() {
-		return (nCards == 2 && value == 21);
+		return (info & HandState.BLACKJACK) != 0;
 	}
 	
 	/** Gets Card value.
@@ -78,20 +99,52 @@ public class Hand {
 	 * 
 	*/
 	public int getValue() {
-		return value;
+		return info & HandState.VALUE_MASK;
+	}
+	
+	/** Checks if the hand is soft.
+	 * 
+	 * @return {@code true} if there is an Ace in the hand counting as 11.
+	 * 
+	*/
+	public boolean isSoft() {
+		return (info & HandState.SOFT) != 0;
 	}
 	
 	/**
-	 * Gets all the visible cards in the hand 
-	 * @return visible cards in an ArrayList of Cards
+	 * Gets all the visible cards in the hand.
+	 * <p> The list is a read-only view of the hand, created once with it, so it follows the hand as cards
+	 * are added or the hole card is turned up (nothing is allocated by this call).
+	 * @return visible cards in a read-only List of Cards
 	 */
-	public ArrayList<Card> getCards(){
-		ArrayList<Card> visible_cards = new ArrayList<Card>();
-		for(Card c : cards)
-			if(c.getIsUp())
-				visible_cards.add(c);
+	public List<Card> getCards(){
 		return visible_cards;
 	}
+
+	/** Gets a visible card of the hand.
+	 *
+	 * @param index position of the card among the visible cards.
+	 * @return visible card at that position.
+	 *
+	*/
+	public Card getCard(int index) {
+		return cards.get(index >= 1 && !isHoleUp ? index + 1 : index);
+	}
+
+	/** Gets the number of visible cards.
+	 *
+	 * @return Number of cards, not counting the hole card while it is face down.
+	 *
+	*/
+	public int getNVisible() {
+		return nCards >= 2 && !isHoleUp ? nCards - 1 : nCards;
+	}
+	
+	/** Turns the hole card (the second card) face up.
+	*/
+	public void turnHoleUp() {
+		isHoleUp = true;
+	}
 	
 	/** Gets number of cards.
 	 * 
@@ -104,39 +157,37 @@ public class Hand {
 	
 	/** Adds a card to the hand.
 	 * <p>
-	 * Also computes the new value of the hand, if the hand has busted
-	 * and if any Ace is downgraded to hard.
+	 * The new value of the hand, if the hand has busted and if any Ace is downgraded to hard 
+	 * are all given by the next state of the hand (see {@link HandState}).
+	 * <p> The second card stays face down until {@link #turnHoleUp()} is called.
 	 * @param card card to add.
 	 * 
 	*/
 	public void addCard(Card card) {
 		cards.add(card);
-		if (nCards != 1)
-			cards.get(nCards).setIsUp(true);
 		++nCards;
-		value += card.getIntValue();
-		if(value > 21) {
-			for(Card c : cards) {
-				if(c.getValue().equals("A") && c.isSoft()) {
-					value -= 10;
-					c.setSoft(false);
-					if(value <= 21) break;
-				}
-			}
-		}
-		if (value > 21) {
-			isBust = true;
-		}
+		state = HandState.next(state, card);
+		info = HandState.getInfo(state);
+	}
+	
+	/** Gets the state of the hand.
+	 * 
+	 * @return state id (see {@link HandState}).
+	 * 
+	*/
+	public int getState() {
+		return state;
 	}
 	
 	/** Resets the hand.
 	*/
 	public void reset() {
 		cards.clear();
-		value = 0;
+		state = HandState.EMPTY;
+		info = HandState.getInfo(state);
 		nCards = 0;
-		isBust = false;
 		isStanding = false;
+		isHoleUp = false;
 	}
 	
 	/** Gets first card 
@@ -148,19 +199,25 @@ public class Hand {
 		return cards.get(0);
 	}
 	
+	/** Appends the hand, as it is shown, to a buffer (without building any other string)
+	 * 
+	 * @param out the buffer
+	 * @return the buffer
+	 */
+	public StringBuilder appendTo(StringBuilder out) {
+		for (int i = 0; i < cards.size(); i++)
+			out.append((i != 1 || isHoleUp) ? cards.get(i).toString() : "X").append(' ');
+		if (isHoleUp == true)
+			out.append('(').append(getValue()).append(')');
+		return out;
+	}
+	
 	/** Converts to String
 	 * 
 	 */
 	@Override
 	public String toString() {
-		String out = new String();
-		for (int i = 0; i < cards.size(); i++) {
-			out += cards.get(i).toString();
-			out += " ";
-		}
-		if (cards.get(1).getIsUp() == true)
-			out += "(" + value + ")";
-		return out;
+		return appendTo(new StringBuilder()).toString();
 	}
 
 }
@@ -0,0 +1,142 @@
+package blackjack;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * Finite state machine that evaluates a hand as its cards are added.
+ * <p>
+ * A state holds everything the game needs to know about a hand: its total, if an Ace still counts as 11 (soft),
+ * if it busted and, for two card hands, if it is a blackjack or a pair. Since at most one Ace can count as 11,
+ * a soft flag is enough to demote it when the total goes over 21. The number of cards only matters up to three
+ * (to know which hands have one or two cards), and busted states don't change with more cards.
+ * <p>
+ * Every reachable state gets a dense id (the empty hand is {@link #EMPTY}), and the transition table gives the
+ * next state for every state and card value, so adding a card is a single array read. The info of a state packs
+ * its total and flags into an int (see {@link #getInfo(int)}).
+ */
+public final class HandState {
+
+	/** Id of the state of an empty hand */
+	public static final int EMPTY = 0;
+	/** Bits of the info with the total of the hand */
+	public static final int VALUE_MASK = 0x1f;
+	/** Info flag: an Ace counts as 11 */
+	public static final int SOFT = 1 << 5;
+	/** Info flag: the total is over 21 */
+	public static final int BUST = 1 << 6;
+	/** Info flag: two cards with a total of 21 */
+	public static final int BLACKJACK = 1 << 7;
+	/** Info flag: two cards with the same value */
+	public static final int PAIR = 1 << 8;
+
+	/** Number of card values (2 to 11) */
+	private static final int VALUES = 10;
+	/** Transitions: next state for each state and card value (the value minus 2) */
+	private static final short[] next;
+	/** Info of each state */
+	private static final int[] info;
+
+	static {
+		// A state is identified by its key: total, soft flag, number of cards (up to 3) and pair flag
+		HashMap<Integer, Integer> ids = new HashMap<Integer, Integer>();
+		ArrayList<Integer> keys = new ArrayList<Integer>();
+		ArrayList<Short> transitions = new ArrayList<Short>();
+		keys.add(key(0, false, 0, false));
+		ids.put(keys.get(0), EMPTY);
+		for (int id = 0; id < keys.size(); id++) {
+			int k = keys.get(id);
+			int total = k & VALUE_MASK;
+			boolean soft = (k & SOFT) != 0;
+			int nCards = k >> 9;
+			for (int v = 2; v <= 11; v++) {
+				int nextKey;
+				if (total > 21)
+					nextKey = k;
+				else {
+					int t = total + v;
+					int softAces = (soft ? 1 : 0) + (v == 11 ? 1 : 0);
+					while (t > 21 && softAces > 0) {
+						t -= 10;
+						--softAces;
+					}
+					nextKey = key(t, softAces > 0, Math.min(nCards + 1, 3), nCards == 1 && v == total);
+				}
+				Integer nextId = ids.get(nextKey);
+				if (nextId == null) {
+					nextId = keys.size();
+					ids.put(nextKey, nextId);
+					keys.add(nextKey);
+				}
+				transitions.add((short) (int) nextId);
+			}
+		}
+		next = new short[transitions.size()];
+		for (int i = 0; i < next.length; i++)
+			next[i] = transitions.get(i);
+		info = new int[keys.size()];
+		for (int id = 0; id < info.length; id++) {
+			int k = keys.get(id);
+			int total = k & VALUE_MASK;
+			info[id] = k & (VALUE_MASK | SOFT | PAIR);
+			if (total > 21)
+				info[id] |= BUST;
+			if (total == 21 && (k >> 9) == 2)
+				info[id] |= BLACKJACK;
+		}
+	}
+
+	private HandState() {
+	}
+
+	/** Gets the key of a state.
+	 *
+	 * @param total total of the hand.
+	 * @param soft if an Ace counts as 11.
+	 * @param nCards number of cards (up to 3).
+	 * @param pair if the two cards have the same value.
+	 * @return key of the state.
+	 */
+	private static int key(int total, boolean soft, int nCards, boolean pair) {
+		return total | (soft ? SOFT : 0) | (pair ? PAIR : 0) | (nCards << 9);
+	}
+
+	/** Gets the state after adding a card.
+	 *
+	 * @param state current state.
+	 * @param card card added.
+	 * @return next state.
+	 */
+	public static int next(int state, Card card) {
+		return next(state, card.getIntValue());
+	}
+
+	/** Gets the state after adding a card of a given value.
+	 *
+	 * @param state current state.
+	 * @param value value of the card added (2 to 11).
+	 * @return next state.
+	 */
+	public static int next(int state, int value) {
+		return next[state*VALUES + value - 2];
+	}
+
+	/** Gets the info of a state: the total ({@link #VALUE_MASK} bits) and the {@link #SOFT}, {@link #BUST},
+	 * {@link #BLACKJACK} and {@link #PAIR} flags.
+	 *
+	 * @param state the state.
+	 * @return info of the state.
+	 */
+	public static int getInfo(int state) {
+		return info[state];
+	}
+
+	/** Gets the number of states.
+	 *
+	 * @return number of states (ids go from 0 to this number minus 1).
+	 */
+	public static int count() {
+		return info.length;
+	}
+
+}
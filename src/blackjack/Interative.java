@@ -1,5 +1,6 @@
 package blackjack;
 
+import java.io.InputStream;
 import java.util.Scanner;
 
 /** 
@@ -9,58 +10,83 @@ import java.util.Scanner;
 public class Interative implements GameMode {
 
 	/**
-	 * Scanner variable to read data from the console
+	 * Scanner variable to read data from the console (each game has its own)
 	 */
-	private static Scanner kb;
+	private final Scanner kb;
+	
+	/**
+	 * Where the illegal commands are reported
+	 */
+	private final ConsoleWriter console;
 	
 	/**
 	 * Creates a new Scanner to read from the console
 	 */
 	public Interative () {
-		kb = new Scanner(System.in);
+		this(new ConsoleWriter(System.out, 0));
+	}
+	
+	/**
+	 * Creates a new Scanner to read from the console, which is flushed before each prompt
+	 * @param console_in Console shared with the game narration
+	 */
+	Interative (ConsoleWriter console_in) {
+		this(System.in, console_in);
 	}
 	
+	/**
+	 * Creates a new Scanner to read from a stream (for example, a network connection), with the console flushed
+	 * before each prompt
+	 * @param in_in Where the commands are read from
+	 * @param console_in Console shared with the game narration
+	 */
+	Interative (InputStream in_in, ConsoleWriter console_in) {
+		kb = new Scanner(in_in);
+		console = console_in;
+	}
+	
+	/**
+	 * Value of the last bet command
+	 */
+	private int bet;
+	
+	/**
+	 * Text of the last bet command
+	 */
+	private String betText;
+	
 	/** Gets a command from the console line
 	 * <p>
-	 * Checks if the command is valid and well formatted. If not, prints and error message and returns an empty String
-	 * @return Command identifier for well formatted commands, otherwise an empty string
+	 * Checks if the command is valid and well formatted. If not, prints and error message and returns INVALID
+	 * @return Command for well formatted commands (the value of a bet is obtained with {@link #getBet()}), otherwise INVALID
+	 * (QUIT at the end of the input)
 	 */
 	@Override
-	public String getPlayCommand() {
+	public Command getPlayCommand() {
+		console.flush();
+		if (!kb.hasNextLine()) {
+			bet = NO_BET;
+			return Command.QUIT;
+		}
 		String line = kb.nextLine();
 		if (line.length() <= 2) {
-			if (line.equals("h"))
-				return "h";
-			else if (line.equals("s"))
-				return "s";
-			else if (line.equals("d"))
-				return "d";
-			else if (line.equals("b"))
-				return "b";
-			else if (line.equals("i"))
-				return "i";
-			else if (line.equals("u"))
-				return "u";
-			else if (line.equals("p"))
-				return "p";
-			else if (line.equals("2"))
-				return "2";
-			else if (line.equals("ad"))
-				return "a";
-			else if (line.equals("st"))
-				return "t";
-			else if (line.equals("$"))
-				return "$";
-			else if (line.equals("q"))
-				return "q";
+			Command cmd = Command.parse(line);
+			if (cmd != Command.INVALID) {
+				bet = NO_BET;
+				betText = line;
+				return cmd;
+			}
 		}
 		else if ((line.charAt(0) == 'b') && (line.charAt(1) == ' '))  {
 			if (isNumeric(line.substring(2)) == true) {
-				return line;					
+				bet = Integer.parseInt(line.substring(2));
+				betText = line;
+				return Command.BET;					
 			}
 		}
-		System.out.println(line + ": illegal command");
-		return "";
+		console.line().append(line).append(": illegal command");
+		console.endLine();
+		return Command.INVALID;
 	}
 
 	/** Checks if it is reading a number.
@@ -85,14 +111,28 @@ public class Interative implements GameMode {
 	/** The same as in getPlayCommand(): for the interactive mode both commands come from the same place (console)
 	 */
 	@Override
-	public String getBetCommand() {
+	public Command getBetCommand() {
 		return getPlayCommand();
 	}
+	
+	/** Gets the value of the last bet command read from the console
+	 */
+	@Override
+	public int getBet() {
+		return bet;
+	}
+	
+	/** Gets the text of the last bet command read from the console
+	 */
+	@Override
+	public String getBetText() {
+		return betText;
+	}
 
 	/** The same as in getPlayCommand(): this version of the method is only called when the caller class is of type Simulation
 	 */
 	@Override
-	public String getPlayCommand(int nHands, PlayerHand p_hand, Hand d_hand, int bet) {
+	public Command getPlayCommand(int nHands, PlayerHand p_hand, Hand d_hand, int bet) {
 		return getPlayCommand();
 	}
 		
@@ -0,0 +1,81 @@
+package blackjack;
+
+import java.text.DecimalFormat;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies, recorded by many threads at the same time.
+ * <p>
+ * The latencies are counted in buckets of powers of two microseconds (bucket k has the latencies from 2^(k-1)
+ * to 2^k microseconds, and bucket 0 the ones under a microsecond), so recording one is a few instructions and
+ * a counter increment, and the percentiles are known within a factor of two.
+ */
+class LatencyHistogram {
+
+	/** Number of buckets (the last one has every latency above 2^(BUCKETS-2) microseconds) */
+	private static final int BUCKETS = 40;
+
+	/** Count of each bucket */
+	private final LongAdder[] buckets = new LongAdder[BUCKETS];
+	/** Sum of the latencies, in nanoseconds */
+	private final LongAdder sum = new LongAdder();
+	/** Highest latency, in nanoseconds */
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+	/** Creates an empty histogram.
+	 */
+	LatencyHistogram() {
+		for (int i = 0; i < BUCKETS; i++)
+			buckets[i] = new LongAdder();
+	}
+
+	/** Records a latency.
+	 *
+	 * @param nanos the latency, in nanoseconds.
+	 */
+	void record(long nanos) {
+		long micros = nanos / 1000;
+		int bucket = (micros == 0) ? 0 : Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(micros));
+		buckets[bucket].increment();
+		sum.add(nanos);
+		max.accumulate(nanos);
+	}
+
+	/** Gets the upper bound of a bucket.
+	 *
+	 * @param bucket the bucket.
+	 * @return the highest latency of the bucket, in microseconds.
+	 */
+	private static long bound(int bucket) {
+		return 1L << bucket;
+	}
+
+	/** Writes the number of latencies, their mean, the 50th, 90th, 99th and 99.9th percentiles (upper bounds of
+	 * their buckets) and the highest one, followed by the count of every bucket that isn't empty.
+	 *
+	 * @param out where the histogram is written.
+	 */
+	void appendTo(StringBuilder out) {
+		DecimalFormat df = new DecimalFormat("#.##");
+		long[] counts = new long[BUCKETS];
+		long n = 0;
+		for (int i = 0; i < BUCKETS; i++)
+			n += counts[i] = buckets[i].sum();
+		out.append("count\t").append(n).append('\n');
+		out.append("mean\t").append(df.format((n == 0) ? 0 : sum.sum() / 1e3 / n)).append(" us\n");
+		double[] percentiles = {50, 90, 99, 99.9};
+		for (double p : percentiles) {
+			long target = (long) Math.ceil(p / 100 * n), seen = 0;
+			int bucket = 0;
+			while (bucket < BUCKETS - 1 && seen + counts[bucket] < target)
+				seen += counts[bucket++];
+			out.append("p").append(df.format(p)).append("\t<= ").append((n == 0) ? 0 : bound(bucket)).append(" us\n");
+		}
+		out.append("max\t").append(df.format(max.get() / 1e3)).append(" us\n");
+		for (int i = 0; i < BUCKETS; i++)
+			if (counts[i] > 0)
+				out.append("<= ").append(bound(i)).append(" us\t").append(counts[i]).append('\n');
+	}
+
+}
@@ -0,0 +1,311 @@
+package blackjack;
+
+import java.text.DecimalFormat;
+import java.util.ArrayDeque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.JumpableGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+import cardCounting.DeviationTable;
+import cardCounting.StrategyTable;
+
+/**
+ * Class that runs a simulation on several threads.
+ * <p>
+ * The shoes to be played are split into shards of (at most) {@link #SHARD_SHOES} shoes. Each shard is
+ * an independent simulation {@link Game}, with its own dealer, shoe, player and strategies, that is played
+ * on a thread pool. When a shard ends, its statistics are merged into the first one (always in shard
+ * order), which in the end prints the statistics of the whole simulation.
+ * <p>
+ * Every shard shuffles its shoe with its own random number generator, split (or jumped, for generators
+ * that can't be split) from a root generator, in shard order. Since the shards don't depend on the number
+ * of threads, a simulation with a given seed always has the same results.
+ * <p>
+ * Several strategies (a comma separated list, such as {@code BS,HL}) can be compared with common random numbers:
+ * each strategy gets its own root generator, all of them with the same seed, so the shard games of every
+ * strategy shuffle exactly the same shoes. Besides the statistics of each strategy, the differences between
+ * the results of each pair of strategies are paired shoe by shoe, which removes most of the noise of the cards
+ * from the comparison.
+ * <p>
+ * A {@link StopCriterion} can end the simulation before all the shoes are played. The precision target is checked
+ * on the merged results, after each shard is merged: when it is met, the shards still running are discarded, so
+ * the results still only depend on the seed. The time budget is also checked by every shard game, once per shoe,
+ * and no more shards are started after it expires.
+ * <p>
+ * Instead of shuffled shoes, the recorded shoes of a {@link ShoeCorpus} can be played, in order: each shard
+ * plays back its own range of the corpus (with a {@link ReplayShoe}), and at most one simulation of the whole
+ * corpus is played.
+ * <p>
+ * A table can have several seats (see {@link #setSeats(int)}), all of them playing the same strategy: the results
+ * of each seat are kept apart, and a strategy only converges when all of its seats do.
+ */
+public class ParallelSimulation {
+
+	/**
+	 * Number of shoes played by each shard
+	 */
+	static final int SHARD_SHOES = 256;
+	/**
+	 * Random number generator algorithm used when none is chosen
+	 */
+	public static final String DEFAULT_RNG = "L64X128MixRandom";
+	/**
+	 * Number of shards submitted to the pool for each thread, before waiting for the oldest one to end
+	 */
+	private static final int SHARDS_PER_THREAD = 4;
+
+	/** Minimum value for the bet */
+	private final int minBet;
+	/** Maximum value for the bet */
+	private final int maxBet;
+	/** Starting player balance */
+	private final int balance;
+	/** Number of decks in the shoe */
+	private final int nDecks;
+	/** Percentage of the shoe that has to be played before shuffling */
+	private final int intShuffle;
+	/** Number of shuffles until the end of the simulation */
+	private final int sNumber;
+	/** Strategies used by the player (more than one to compare them) */
+	private final String[] strategies;
+	/** Number of threads playing the shards */
+	private final int nThreads;
+	/** Generators from which the generators of the shards are split (or jumped), one for each strategy */
+	private final RandomGenerator[] rngs;
+	/** Basic Strategy table used by the playing strategies */
+	private StrategyTable table = StrategyTable.BASIC;
+	/** Index plays used by the Hi-Lo strategy */
+	private DeviationTable deviations = DeviationTable.HI_LO_BASIC;
+	/** Criterion that ends the simulation before all the shoes are played */
+	private StopCriterion stop = StopCriterion.NONE;
+	/** Recorded shoes played instead of shuffled ones ({@code null} if there are none) */
+	private ShoeCorpus corpus = null;
+	/** Number of seats at the table */
+	private int nSeats = 1;
+
+	/** Initializes the parameters for the simulation (the same as the ones of the simulation {@link Game}).
+	 *
+	 * @param minBet_in Minimum value for the bet that is allowed.
+	 * @param maxBet_in Maximum value for the bet that is allowed.
+	 * @param balance_in Starting player balance.
+	 * @param nDecks_in Number of decks in the shoe.
+	 * @param intShuffle_in Percentage of the shoe that has to be played before shuffling.
+	 * @param sNumber_in Number of shuffles until the end of the simulation.
+	 * @param strategy_in Strategy that will be used, or a comma separated list of strategies to be compared.
+	 * @param nThreads_in Number of threads playing the simulation.
+	 * @param rng_in Name of the random number generator algorithm (see {@link RandomGeneratorFactory}); must be
+	 * splittable or jumpable.
+	 * @param seed_in Seed of the random number generators, or {@code null} for a random seed.
+	 * @throws IllegalArgumentException if the algorithm doesn't exist or can't be split or jumped.
+	 */
+	public ParallelSimulation(int minBet_in, int maxBet_in, int balance_in, int nDecks_in, int intShuffle_in,
+			int sNumber_in, String strategy_in, int nThreads_in, String rng_in, Long seed_in) {
+		RandomGeneratorFactory<RandomGenerator> factory = RandomGeneratorFactory.of(rng_in);
+		if (!factory.isSplittable() && !factory.isJumpable())
+			throw new IllegalArgumentException(rng_in + " can't be split or jumped");
+		strategies = strategy_in.split(",");
+		rngs = new RandomGenerator[strategies.length];
+		if (seed_in == null && strategies.length > 1)
+			seed_in = RandomGenerator.getDefault().nextLong(); // all the strategies need the same seed
+		for (int i = 0; i < rngs.length; i++)
+			rngs[i] = (seed_in == null) ? factory.create() : factory.create(seed_in);
+		minBet = minBet_in;
+		maxBet = maxBet_in;
+		balance = balance_in;
+		nDecks = nDecks_in;
+		intShuffle = intShuffle_in;
+		sNumber = sNumber_in;
+		nThreads = nThreads_in;
+	}
+
+	/** Sets the strategy tables used by the playing strategies (the default ones are {@link StrategyTable#BASIC}
+	 * and {@link DeviationTable#HI_LO_BASIC}).
+	 *
+	 * @param table_in Basic Strategy table.
+	 * @param deviations_in Hi-Lo index plays, layered over table_in.
+	 */
+	public void setStrategyTables(StrategyTable table_in, DeviationTable deviations_in) {
+		table = table_in;
+		deviations = deviations_in;
+	}
+
+	/** Sets the criterion that ends the simulation before all the shoes are played (by default, there is none,
+	 * and sNumber + 1 shoes are always played).
+	 *
+	 * @param stop_in stop criterion.
+	 */
+	public void setStopCriterion(StopCriterion stop_in) {
+		stop = stop_in;
+	}
+
+	/** Sets the recorded shoes played instead of shuffled ones (the first sNumber + 1 shoes of the corpus, or all
+	 * of them if it has less).
+	 *
+	 * @param corpus_in corpus with the recorded shoes.
+	 */
+	public void setShoeCorpus(ShoeCorpus corpus_in) {
+		corpus = corpus_in;
+	}
+
+	/** Sets the number of seats at the table (by default, there is only one).
+	 *
+	 * @param nSeats_in number of seats, from 1 to {@link Game#MAX_SEATS}.
+	 */
+	public void setSeats(int nSeats_in) {
+		nSeats = nSeats_in;
+	}
+
+	/** Creates the games of a shard, one for each strategy.
+	 * <p> A simulation game plays one shoe more than its sNumber (it ends at the shuffle after that), so the
+	 * shard is created with {@code shoes - 1}. Shards must be created in order, so that each one always gets
+	 * the same generator (the same for every strategy).
+	 *
+	 * @param first index of the first shoe of the shard.
+	 * @param shoes number of shoes to be played in the shard.
+	 * @return the shard games, ready to be played.
+	 */
+	private Game[] newShard(long first, int shoes) {
+		Game[] games = new Game[strategies.length];
+		for (int i = 0; i < games.length; i++) {
+			RandomGenerator shard_rng;
+			if (rngs[i] instanceof SplittableGenerator)
+				shard_rng = ((SplittableGenerator) rngs[i]).split();
+			else
+				shard_rng = ((JumpableGenerator) rngs[i]).copyAndJump();
+			games[i] = new Game('s', minBet, maxBet, balance, nDecks, intShuffle, shoes - 1, strategies[i], shard_rng, table, deviations,
+					nSeats);
+			if (strategies.length > 1)
+				games[i].setEventListener(new ShoeResults(shoes, balance, nSeats));
+			games[i].setStopCriterion(stop.timeOnly());
+			if (corpus != null)
+				games[i].setShoe(new ReplayShoe(corpus, first));
+		}
+		return games;
+	}
+
+	/** Merges the results of a shard that ended into the total.
+	 *
+	 * @param total games with the results of the previous shards ({@code null} if there are none).
+	 * @param shard shard games that ended.
+	 * @param winRates differences of the win rate per shoe of each pair of strategies.
+	 * @param gains differences of the balance gained per shoe of each pair of strategies.
+	 * @return games with the results of all the shards.
+	 */
+	private static Game[] merge(Game[] total, Game[] shard, RunningStats[][] winRates, RunningStats[][] gains) {
+		for (int i = 0; i < shard.length; i++)
+			for (int j = i + 1; j < shard.length; j++)
+				ShoeResults.addDifferences((ShoeResults) shard[i].getEventListener(), 
+						(ShoeResults) shard[j].getEventListener(), winRates[i][j], gains[i][j]);
+		if (total == null)
+			return shard;
+		for (int i = 0; i < shard.length; i++)
+			total[i].merge(shard[i]);
+		return total;
+	}
+
+	/** Checks if the EV per round of every strategy is known with the target precision of the stop criterion.
+	 *
+	 * @param total games with the results of the shards merged so far.
+	 * @return {@code true} if the precision target was met for every strategy (and every seat).
+	 */
+	private boolean isConverged(Game[] total) {
+		for (Game game : total)
+			for (int s = 0; s < game.getNSeats(); s++)
+				if (!stop.isConverged(game.getPlayerStats(s).getRounds()))
+					return false;
+		return true;
+	}
+
+	/**
+	 * Plays the whole simulation and prints its statistics (when strategies are compared, the statistics
+	 * of each one and the paired differences of each pair).
+	 * <p> As in a single simulation game, sNumber + 1 shoes are played, unless the stop criterion is met before
+	 * (then the reason is printed after the statistics, whose number of rounds are the ones actually played)
+	 * or the corpus of recorded shoes, if any, has less shoes.
+	 */
+	public void run() {
+		long nShoes = (long) sNumber + 1;
+		if (corpus != null)
+			nShoes = Math.min(nShoes, corpus.getNShoes());
+		ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+		ArrayDeque<Future<Game[]>> running = new ArrayDeque<Future<Game[]>>();
+		RunningStats[][] winRates = new RunningStats[strategies.length][strategies.length];
+		RunningStats[][] gains = new RunningStats[strategies.length][strategies.length];
+		for (int i = 0; i < strategies.length; i++)
+			for (int j = i + 1; j < strategies.length; j++) {
+				winRates[i][j] = new RunningStats();
+				gains[i][j] = new RunningStats();
+			}
+		Game[] total = null;
+		boolean converged = false, expired = false;
+		long nShards = (nShoes + SHARD_SHOES - 1) / SHARD_SHOES, merged = 0;
+		try {
+			for (long first = 0; first < nShoes && !converged; first += SHARD_SHOES) {
+				if (first > 0 && stop.isExpired()) {
+					expired = true;
+					break;
+				}
+				// Shards are created here, so that an invalid strategy is reported before any shard is played
+				Game[] shard = newShard(first, (int) Math.min(SHARD_SHOES, nShoes - first));
+				running.add(pool.submit(() -> {
+					for (Game game : shard)
+						game.play();
+					return shard;
+				}));
+				if (running.size() >= nThreads * SHARDS_PER_THREAD) {
+					total = merge(total, running.poll().get(), winRates, gains);
+					++merged;
+					converged = isConverged(total);
+				}
+			}
+			// Once the target precision is met, the shards still running are discarded
+			while (!running.isEmpty() && !converged) {
+				total = merge(total, running.poll().get(), winRates, gains);
+				++merged;
+				converged = isConverged(total);
+			}
+			expired |= !converged && stop.isExpired();
+		} catch (InterruptedException | ExecutionException e) {
+			throw new IllegalStateException("simulation failed", e);
+		} finally {
+			pool.shutdownNow();
+		}
+		if (strategies.length == 1)
+			total[0].printStatsState();
+		else {
+			for (int i = 0; i < strategies.length; i++) {
+				System.out.println(strategies[i]);
+				total[i].printStatsState();
+			}
+			for (int i = 0; i < strategies.length; i++)
+				for (int j = i + 1; j < strategies.length; j++)
+					printDifferences(strategies[j] + " - " + strategies[i], winRates[i][j], gains[i][j]);
+		}
+		if (converged && merged < nShards)
+			System.out.println("Stopped: confidence interval half width reached");
+		else if (expired)
+			System.out.println("Stopped: time budget expired");
+	}
+
+	/** Prints the paired differences between two strategies: the mean difference of the win rate per shoe and
+	 * the total and mean differences of the balance gained per shoe, each mean with its standard error.
+	 *
+	 * @param name name of the pair.
+	 * @param winRate differences of the win rate per shoe.
+	 * @param gain differences of the balance gained per shoe.
+	 */
+	private static void printDifferences(String name, RunningStats winRate, RunningStats gain) {
+		DecimalFormat df = new DecimalFormat("#.##");
+		DecimalFormat rf = new DecimalFormat("#.####");
+		System.out.println(name + " (paired over " + gain.getN() + " shoes)");
+		System.out.println("Win  \t" + rf.format(winRate.getMean()) + " (SE " + rf.format(winRate.getStandardError()) + ")");
+		System.out.println("Balance\t" + df.format(gain.getSum()) + " / " + df.format(gain.getMean()) + " per shoe (SE "
+				+ df.format(gain.getStandardError()) + ")");
+	}
+
+}
@@ -1,14 +1,16 @@
 package blackjack;
 
-import java.util.*;
-
 /** Class that implements a Player
  * 
  */
 public class Player {
 	/**
-	 * Array list of hands: the player may have up to 4 hands */	
-	protected ArrayList<PlayerHand> hands;
+	 * Maximum number of hands of a player */
+	public static final int MAX_HANDS = 4;
+	/**
+	 * Hands of the player: the player may have up to 4 hands, the first nHands are in play.
+	 * The hands are created once, with the player, and reused in every round */
+	protected PlayerHand[] hands;
 	/**
 	 * Player current balance */
 	private float balance;
@@ -31,8 +33,9 @@ public class Player {
 		balance = balance_in;
 		bet = initialBet_in;
 		nHands = 1;
-		hands = new ArrayList<PlayerHand>();
-		hands.add(new PlayerHand(bet, true, false));
+		hands = new PlayerHand[MAX_HANDS];
+		for (int i = 0; i < MAX_HANDS; i++)
+			hands[i] = new PlayerHand(bet, true, false);
 	}
 	
 	/** Performs hit action.
@@ -41,8 +44,8 @@ public class Player {
 	 * 
 	 */
 	public void hit(int i) {
-		hands.get(i).setIsOpening(false);
-		hands.get(i).setHitting(true);
+		hands[i].setIsOpening(false);
+		hands[i].setHitting(true);
 	}
 	
 	/** Adds a card t the hand.
@@ -52,7 +55,7 @@ public class Player {
 	 * 
 	 */
 	public void addCard(int i, Card card) {
-		hands.get(i).addCard(card);
+		hands[i].addCard(card);
 	}
 
 	/** Gets number of hands.
@@ -70,8 +73,8 @@ public class Player {
 	 * 
 	 */
 	public void stand(int i) {
-		hands.get(i).setIsOpening(false);
-		hands.get(i).setIsStanding(true);
+		hands[i].setIsOpening(false);
+		hands[i].setIsStanding(true);
 	}
 	
 	/** Performs the surrender action.
@@ -80,14 +83,14 @@ public class Player {
 	 * 
 	 */
 	public void surrender(int i) {
-		hands.get(i).setIsOpening(false);
-		hands.get(i).setIsSurrender();
+		hands[i].setIsOpening(false);
+		hands[i].setIsSurrender();
 	}
 	
 	/** Performs the insurance action
 	 */
 	public void insurance() {
-		hands.get(0).setIsOpening(false);
+		hands[0].setIsOpening(false);
 		isInsuring = true;
 		balance -= bet;
 	}
@@ -103,22 +106,27 @@ public class Player {
 	
 	/** Performs the split action.
 	 * <p> 
-	 * Increments the number of hands, removes the previous hand and adds two new ones,
-	 * with one card each (only the splitted cards)
+	 * Increments the number of hands and replaces the hand by two new ones, with one card each 
+	 * (only the splitted cards). The hands after it move one position up, into the first free 
+	 * slot, and the two new hands reuse the slot of the splitted hand and that free slot.
 	 * 
 	 * @param i Index of the card.
 	 * 
 	 */
 	public void split(int i) {
-		hands.get(i).setIsOpening(false);
+		Card first = hands[i].cards.get(0);
+		Card second = hands[i].cards.get(1);
+		PlayerHand free = hands[nHands];
+		for (int j = nHands; j > i + 1; j--)
+			hands[j] = hands[j-1];
+		hands[i+1] = free;
 		isSplitting = false;
 		nHands++;
 		balance -= bet;
-		hands.add(i+1, new PlayerHand(bet, false, true));
-		hands.get(i+1).addCard(hands.get(i).cards.get(0));
-		hands.add(i+2, new PlayerHand(bet, false, true));
-		hands.get(i+2).addCard(hands.get(i).cards.get(1));
-		hands.remove(i);
+		hands[i].reset(bet, false, true);
+		hands[i].addCard(first);
+		hands[i+1].reset(bet, false, true);
+		hands[i+1].addCard(second);
 	}
 	
 	/** Peforms the double down action. Also sets isHitting to true since the player can only take one
@@ -128,11 +136,11 @@ public class Player {
 	 * 
 	 */
 	public void doubleD(int i) {
-		hands.get(i).setIsOpening(false); // Vejam se concordam com esta linha
+		hands[i].setIsOpening(false); // Vejam se concordam com esta linha
 		balance -= bet;
-		hands.get(i).setBet(2*bet);
-		hands.get(i).setIsDoubleD();
-		hands.get(i).setHitting(true);
+		hands[i].setBet(2*bet);
+		hands[i].setIsDoubleD();
+		hands[i].setHitting(true);
 	}
 	
 	/** Places a nwe value for the bet.
@@ -144,16 +152,24 @@ public class Player {
 	public void placeBet(int newBet) {
 		bet = newBet;
 		balance -= bet;
-		hands.get(0).setBet(newBet);
+		hands[0].setBet(newBet);
 	}
 	
-	/** Removes all hands and adds a new empty one
+	/** Removes all hands and leaves a new empty one (the first hand is reset in place)
 	 */
 	public void clearHands() {
-		hands.clear();
 		nHands = 1;
 		isInsuring = false;
-		hands.add(new PlayerHand(bet, true, false));
+		hands[0].reset(bet, true, false);
+	}
+
+	/** Gets a hand of the player.
+	 * 
+	 * @param i Hand index (from 0 to the number of hands minus 1).
+	 * @return the hand.
+	 */
+	public PlayerHand getHand(int i) {
+		return hands[i];
 	}
 
 	/** Gets the current value for the balance.
@@ -173,31 +189,13 @@ public class Player {
 		balance += update;
 	}
 	
-	/** Displays the player's hand
-	 * <p> If i is -1 then the player only has one Hand and so the affix
-	 * with the hand number won't show up
-	 * @param i Hand index
-	 */
-	public void printPlayersHand(int i){
-		String out = new String();
-		out += "player's hand ";
-		if (i != -1) {
-			out += "[" + (i+1) + "] ";
-			out += hands.get(i).toString();
-		}
-		else {
-			out += hands.get(0).toString();
-		}
-		System.out.println(out);	
-	}
-
 	/** Checks if the player decided to hit on hand i
 	 * 
 	 * @param i Hand index
 	 * @return Decision to hit
 	 */
 	public boolean isHittingHand(int i) {
-		return hands.get(i).isHitting();
+		return hands[i].isHitting();
 	}
 
 	/** Checks if the player decided to stand
@@ -206,7 +204,7 @@ public class Player {
 	 * @return Decision to stand
 	 */
 	public boolean isStandingHand(int i) {
-		return hands.get(i).isStanding();
+		return hands[i].isStanding();
 	}
 
 	/** Checks if the player decided to surrender
@@ -215,7 +213,7 @@ public class Player {
 	 * @return Decision to surrender
 	 */
 	public boolean isSurrendingHand(int i) {
-		return hands.get(i).isSurrender();
+		return hands[i].isSurrender();
 	}
 
 	/** Checks for a split.
@@ -246,10 +244,10 @@ public class Player {
 	/**	Checks for a double down
 	 * 
 	 * @param i Card's index
-	 * @return hands.get(i).isDouble Decision to surrender
+	 * @return hands[i].isDouble Decision to surrender
 	 */
 	public boolean isDoubleDHand(int i) {
-		return hands.get(i).isDouble();
+		return hands[i].isDouble();
 	}
 
 }
@@ -10,8 +10,6 @@ public class PlayerHand extends Hand {
 	private int bet;
 	/** if a hand is an opening hand (hand just dealt) */	
 	private boolean isOpening;
-	/** if a hand is a pair */	
-	private boolean isPair;
 	/** if a hand was doubled */	
 	private boolean isDoubleD;
 	/** if a hand was splitted */	
@@ -34,10 +32,26 @@ public class PlayerHand extends Hand {
 		isOpening = opening;
 		isSplit = split;
 		isDoubleD = false;
-		isPair = false;
 		isSurrender = false;
 	}
 	
+	/** Resets the hand, so that it can be reused as a new hand (no cards and all flags cleared).
+	 * 
+	 * @param bet_in Bet that is placed at the beginning.
+	 * @param opening if it is an opening hand
+	 * @param split Checks for a split.
+	 * 
+	*/
+	public void reset(int bet_in, boolean opening, boolean split) {
+		reset();
+		bet = bet_in;
+		isOpening = opening;
+		isSplit = split;
+		isDoubleD = false;
+		isSurrender = false;
+		isHitting = false;
+	}
+	
 	/** Gets the value of the bet.
 	 * 
 	 * @return bet
@@ -90,7 +104,7 @@ public class PlayerHand extends Hand {
 	 * 
 	*/
 	public boolean isPair() {
-		return isPair;	
+		return (info & HandState.PAIR) != 0;	
 	}
 	
 	/** Checks if there was a double down.
@@ -126,32 +140,23 @@ public class PlayerHand extends Hand {
 	
 	/** Adds a card to the player's hand and sets flags accordingly
 	 * <p>
-	 * Extends the addCard method from a regular hand
+	 * Extends the addCard method from a regular hand: all the player's cards are face up
 	 * 
 	 * @param card Represents a regular card.
 	 * 
 	*/
 	public void addCard(Card card) {
 		super.addCard(card);
-		card.setIsUp(true);
-		isPair = false;
-		if (nCards == 2) {
-			if (cards.get(0).equals(cards.get(1)))
-				isPair = true;			
-		}
+		isHoleUp = true;
 	}
 	
-	/** Converts to string
+	/** Appends the hand to a buffer: all its cards are shown, and its value
 	 */
 	@Override
-	public String toString() {
-		String out = new String();
-		for (int i = 0; i < cards.size(); i++) {
-			out += cards.get(i).toString();
-			out += " ";
-		}
-		out += "(" + value + ")";
-		return out;
+	public StringBuilder appendTo(StringBuilder out) {
+		for (int i = 0; i < cards.size(); i++)
+			out.append(cards.get(i).toString()).append(' ');
+		return out.append('(').append(getValue()).append(')');
 	}
 
 	
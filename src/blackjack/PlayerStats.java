@@ -9,10 +9,12 @@ package blackjack;
  * 
 */
 public class PlayerStats extends Stats {
-	private int wins;
-	private int losses;
-	private int pushes;
+	private long wins;
+	private long losses;
+	private long pushes;
 	private int initBalance;
+	/** net result of every round, in units of the round's initial bet */
+	private RunningStats rounds;
 
 	/** Initializes a new Player Statistics
 	 * 
@@ -25,6 +27,7 @@ public class PlayerStats extends Stats {
 		wins = 0;
 		losses = 0;
 		pushes = 0;
+		rounds = new RunningStats();
 	}
 	
 	/** Increments the win, loss and push counts, according to a flag.
@@ -41,6 +44,24 @@ public class PlayerStats extends Stats {
 		if(r == 0) ++pushes;
 	}
 
+	/** Adds the net result of a round.
+	 * 
+	 * @param net balance won (or lost, if negative) in the round, in units of the round's initial bet.
+	 * 
+	*/
+	public void addRound(double net) {
+		rounds.add(net);
+	}
+	
+	/** Gets the net results of the rounds.
+	 * 
+	 * @return accumulator of the net result per round, in units of the initial bet.
+	 * 
+	*/
+	public RunningStats getRounds() {
+		return rounds;
+	}
+
 	/** Returns one of the metrics computed, according to a flag
 	 * 
 	* @param r flag that signals the game result: 
@@ -56,6 +77,32 @@ public class PlayerStats extends Stats {
 		return 0;
 	}
 	
+	/** Adds the counts of other statistics to these ones (win, loss and push counts included, if 
+	 * the other statistics are also a player's).
+	 * 
+	 * @param other statistics to be added.
+	 * 
+	*/
+	@Override
+	public void merge(Stats other) {
+		super.merge(other);
+		if (other instanceof PlayerStats) {
+			wins += ((PlayerStats) other).wins;
+			losses += ((PlayerStats) other).losses;
+			pushes += ((PlayerStats) other).pushes;
+			rounds.merge(((PlayerStats) other).rounds);
+		}
+	}
+	
+	/** Gets the initial balance of the player.
+	 * 
+	 * @return initial balance.
+	 * 
+	*/
+	public int getInitBalance() {
+		return initBalance;
+	}
+	
 	/** Calculates the percentage gain based on the initial balance and current balance.
 	 * 
 	 * @param cur_balance Current balance which indicates the available money at the moment.
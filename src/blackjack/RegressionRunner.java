@@ -0,0 +1,187 @@
+package blackjack;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Class that runs Debug mode scenarios on several threads and checks their transcripts.
+ * <p>
+ * A scenario is a shoe file and a command file, named {@code shoe-file<N>.txt} and {@code cmd-file<N>.txt}, with
+ * its expected transcript in {@code out-file<N>.txt} (what the Debug mode prints for them). Every scenario of a
+ * directory is played as a Debug {@link Game} that prints to memory, in one JVM, and its transcript is compared with
+ * the expected one. The results are printed in scenario order, with the time each scenario took and, for the
+ * ones that don't match, the first line that differs.
+ */
+public class RegressionRunner {
+
+	/** Prefix of the shoe files */
+	private static final String SHOE = "shoe-file";
+	/** Prefix of the command files */
+	private static final String CMD = "cmd-file";
+	/** Prefix of the expected transcripts */
+	private static final String OUT = "out-file";
+	/** Extension of the scenario files */
+	private static final String TXT = ".txt";
+
+	/**
+	 * Result of one scenario
+	 */
+	private static class Result {
+		/** Name of the scenario (its {@code <N>}) */
+		final String name;
+		/** Time it took, in nanoseconds */
+		final long nanos;
+		/** Why it failed ({@code null} if its transcript matches the expected one) */
+		final String failure;
+
+		Result(String name_in, long nanos_in, String failure_in) {
+			name = name_in;
+			nanos = nanos_in;
+			failure = failure_in;
+		}
+	}
+
+	/** Minimum value for the bet */
+	private final int minBet;
+	/** Maximum value for the bet */
+	private final int maxBet;
+	/** Starting player balance */
+	private final int balance;
+	/** Number of threads playing the scenarios */
+	private final int nThreads;
+
+	/** Initializes the parameters of the Debug games (the same for every scenario).
+	 *
+	 * @param minBet_in Minimum value for the bet that is allowed.
+	 * @param maxBet_in Maximum value for the bet that is allowed.
+	 * @param balance_in Starting player balance.
+	 * @param nThreads_in Number of threads playing the scenarios.
+	 */
+	public RegressionRunner(int minBet_in, int maxBet_in, int balance_in, int nThreads_in) {
+		minBet = minBet_in;
+		maxBet = maxBet_in;
+		balance = balance_in;
+		nThreads = nThreads_in;
+	}
+
+	/** Finds the scenarios of a directory: the names of its shoe files, in order (shorter names first, so
+	 * that {@code 2} comes before {@code 10}).
+	 *
+	 * @param dir the directory.
+	 * @return names of the scenarios.
+	 * @throws IOException if the directory can't be read.
+	 */
+	private static List<String> find(Path dir) throws IOException {
+		List<String> names = new ArrayList<String>();
+		try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, SHOE + "*" + TXT)) {
+			for (Path file : files) {
+				String name = file.getFileName().toString();
+				names.add(name.substring(SHOE.length(), name.length() - TXT.length()));
+			}
+		}
+		names.sort((a, b) -> (a.length() != b.length()) ? a.length() - b.length() : a.compareTo(b));
+		return names;
+	}
+
+	/** Plays a scenario and compares its transcript with the expected one.
+	 *
+	 * @param dir directory of the scenario.
+	 * @param name name of the scenario.
+	 * @return the result.
+	 */
+	private Result run(Path dir, String name) {
+		long start = System.nanoTime();
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		PrintStream out = new PrintStream(bytes, false, Charset.defaultCharset());
+		try {
+			Game game = new Game('d', minBet, maxBet, balance, dir.resolve(SHOE + name + TXT).toString(),
+					dir.resolve(CMD + name + TXT).toString(), out);
+			game.play();
+		} catch (IllegalArgumentException e) {
+			out.println(e.getMessage()); // as the Debug mode reports it
+		} catch (RuntimeException e) {
+			return new Result(name, System.nanoTime() - start, "error: " + e);
+		}
+		out.flush();
+		String failure;
+		try {
+			String expected = new String(Files.readAllBytes(dir.resolve(OUT + name + TXT)), Charset.defaultCharset());
+			failure = compare(expected, bytes.toString(Charset.defaultCharset()));
+		} catch (NoSuchFileException e) {
+			failure = "no expected transcript " + OUT + name + TXT;
+		} catch (IOException e) {
+			failure = "error: " + e;
+		}
+		return new Result(name, System.nanoTime() - start, failure);
+	}
+
+	/** Compares a transcript with the expected one.
+	 *
+	 * @param expected the expected transcript.
+	 * @param actual the transcript.
+	 * @return the first line that differs, or {@code null} if they are the same.
+	 */
+	private static String compare(String expected, String actual) {
+		if (expected.equals(actual))
+			return null;
+		String[] e = expected.split("\n", -1);
+		String[] a = actual.split("\n", -1);
+		int line = 0;
+		while (line < e.length && line < a.length && e[line].equals(a[line]))
+			line++;
+		return "line " + (line + 1) + ": expected " + ((line < e.length) ? "\"" + e[line] + "\"" : "end of transcript")
+				+ " but was " + ((line < a.length) ? "\"" + a[line] + "\"" : "end of transcript");
+	}
+
+	/** Plays every scenario of a directory and prints the results: one line per scenario, then the number of
+	 * scenarios that failed and the total time.
+	 *
+	 * @param dir the directory.
+	 * @return number of scenarios that failed.
+	 * @throws IOException if the directory can't be read.
+	 */
+	public int run(String dir) throws IOException {
+		long start = System.nanoTime();
+		Path path = Path.of(dir);
+		List<String> names = find(path);
+		ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+		List<Future<Result>> results = new ArrayList<Future<Result>>();
+		int failed = 0;
+		DecimalFormat df = new DecimalFormat("#.##");
+		try {
+			for (String name : names)
+				results.add(pool.submit(() -> run(path, name)));
+			for (Future<Result> future : results) {
+				Result result = future.get();
+				String time = " (" + df.format(result.nanos / 1e6) + " ms)";
+				if (result.failure == null)
+					System.out.println("ok   " + result.name + time);
+				else {
+					System.out.println("FAIL " + result.name + time + ": " + result.failure);
+					failed++;
+				}
+			}
+		} catch (InterruptedException | ExecutionException e) {
+			throw new IllegalStateException("regression run failed", e);
+		} finally {
+			pool.shutdownNow();
+		}
+		System.out.println(names.size() + " scenarios, " + failed + " failed ("
+				+ df.format((System.nanoTime() - start) / 1e6) + " ms)");
+		return failed;
+	}
+
+}
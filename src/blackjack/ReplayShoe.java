@@ -0,0 +1,97 @@
+package blackjack;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Shoe that plays back the recorded shoes of a {@link ShoeCorpus}, one after the other.
+ * <p>
+ * Shuffling moves to the next recorded shoe (after the last one, back to the first), and its cards are dealt
+ * straight from the mapped file, without copying them. As any shoe, it works as a ring if more cards are dealt
+ * than it has.
+ */
+public class ReplayShoe extends Shoe {
+	/** Corpus with the recorded shoes */
+	private final ShoeCorpus corpus;
+	/** Offset in the corpus of the next shoe */
+	private long next;
+	/** Mapped window with the current shoe */
+	private ByteBuffer window;
+	/** Position in the window of the first card of the current shoe */
+	private int first;
+	/** Number of cards of the current shoe */
+	private int nCards;
+	/** Position of the next card to be dealt, from the first one */
+	private int cursor;
+	/** Number of cards already dealt since the last shuffle */
+	private int nDealtCards;
+
+	/** Creates a shoe that plays back a corpus (its first shoe is loaded by the first shuffle).
+	 *
+	 * @param corpus_in corpus with the recorded shoes.
+	 * @param firstShoe_in index of the first shoe to be played.
+	 * @throws IllegalArgumentException if the corpus doesn't have that shoe.
+	 */
+	public ReplayShoe(ShoeCorpus corpus_in, long firstShoe_in) {
+		if (firstShoe_in < 0 || firstShoe_in >= corpus_in.getNShoes())
+			throw new IllegalArgumentException("no shoe " + firstShoe_in + " in " + corpus_in);
+		corpus = corpus_in;
+		next = corpus.getOffset(firstShoe_in);
+	}
+
+	/** Moves to the next recorded shoe.
+	 *
+	 * @throws IllegalArgumentException if a recorded card isn't valid.
+	 */
+	@Override
+	public void shuffle() {
+		window = corpus.getWindow(next);
+		first = ShoeCorpus.getPosition(next) + 2;
+		nCards = corpus.getLength(next);
+		for (int i = 0; i < nCards; i++)
+			if (window.get(first + i) < 0 || window.get(first + i) >= 52)
+				throw new IllegalArgumentException("invalid card code " + window.get(first + i) + " in " + corpus);
+		next = corpus.next(next);
+		cursor = 0;
+		nDealtCards = 0;
+	}
+
+	/** Gets the top card from the shoe.
+	 *
+	 * @return card got from the shoe.
+	 * @throws IllegalStateException if no shoe was loaded yet (it wasn't shuffled).
+	 */
+	@Override
+	public Card getCard() {
+		if (window == null)
+			throw new IllegalStateException("no shoe loaded");
+		Card card = Card.valueOf(window.get(first + cursor));
+		if (++cursor == nCards)
+			cursor = 0;
+		++nDealtCards;
+		return card;
+	}
+
+	@Override
+	public int getNDecks() {
+		return nCards/52;
+	}
+
+	@Override
+	public int getNCards() {
+		return nCards;
+	}
+
+	@Override
+	public int getNDealtCards() {
+		return nDealtCards;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder out = new StringBuilder();
+		for (int i = 0; i < nCards; i++)
+			out.append(Card.valueOf(window.get(first + (cursor + i) % nCards))).append('\n');
+		return out.toString();
+	}
+
+}
@@ -0,0 +1,102 @@
+package blackjack;
+
+/**
+ * Running mean and variance of a sequence of values (Welford's algorithm), which doesn't keep the values.
+ * <p>
+ * Two accumulators of different parts of the sequence (for example, of different simulation shards) can be
+ * merged, and the result is the same as if all the values had been added to one of them.
+ */
+public class RunningStats {
+
+	/** Quantile of the standard normal distribution for a 95% confidence interval */
+	public static final double Z_95 = 1.959963984540054;
+
+	/** Number of values */
+	private long n;
+	/** Mean of the values */
+	private double mean;
+	/** Sum of the squared differences to the mean */
+	private double m2;
+
+	/** Creates an accumulator without values.
+	 */
+	public RunningStats() {
+		n = 0;
+		mean = 0;
+		m2 = 0;
+	}
+
+	/** Adds a value.
+	 *
+	 * @param x value to be added.
+	 */
+	public void add(double x) {
+		++n;
+		double delta = x - mean;
+		mean += delta / n;
+		m2 += delta * (x - mean);
+	}
+
+	/** Adds the values of another accumulator to this one.
+	 *
+	 * @param other accumulator to be added.
+	 */
+	public void merge(RunningStats other) {
+		if (other.n == 0)
+			return;
+		long total = n + other.n;
+		double delta = other.mean - mean;
+		mean += delta * other.n / total;
+		m2 += other.m2 + delta * delta * ((double) n * other.n / total);
+		n = total;
+	}
+
+	/** Gets the number of values.
+	 *
+	 * @return number of values added.
+	 */
+	public long getN() {
+		return n;
+	}
+
+	/** Gets the mean of the values.
+	 *
+	 * @return mean (0 if there are no values).
+	 */
+	public double getMean() {
+		return mean;
+	}
+
+	/** Gets the sum of the values.
+	 *
+	 * @return sum of the values.
+	 */
+	public double getSum() {
+		return mean * n;
+	}
+
+	/** Gets the (sample) variance of the values.
+	 *
+	 * @return variance, or {@code NaN} if there are less than 2 values.
+	 */
+	public double getVariance() {
+		return (n < 2) ? Double.NaN : m2 / (n - 1);
+	}
+
+	/** Gets the standard error of the mean.
+	 *
+	 * @return standard error, or {@code NaN} if there are less than 2 values.
+	 */
+	public double getStandardError() {
+		return Math.sqrt(getVariance() / n);
+	}
+
+	/** Gets the half width of the 95% confidence interval of the mean (normal approximation).
+	 *
+	 * @return half width, or {@code NaN} if there are less than 2 values.
+	 */
+	public double getHalfWidth95() {
+		return Z_95 * getStandardError();
+	}
+
+}
@@ -1,8 +1,9 @@
 package blackjack;
 
 import java.io.File;
-import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.util.*;
+import java.util.random.RandomGenerator;
 
 /** 
  * Class that implements a game shoe
@@ -14,9 +15,18 @@ import java.util.*;
 */
 public class Shoe {
 	/**
-	 * The shoe is an array of cards
+	 * Random number generator used when shuffling (each shoe has its own)
 	 */
-	private ArrayList<Card> shoe;
+	private final RandomGenerator rng;
+	/**
+	 * The shoe: the codes of its cards (see {@link Card#valueOf(int)}), in order.
+	 * <p> Dealing doesn't move anything, it just advances {@code cursor} 
+	 */
+	private final byte[] codes;
+	/**
+	 * Position in {@code codes} of the next card to be dealt
+	 */
+	private int cursor;
 	/**
 	 * Number of decks in the shoe
 	 */
@@ -26,55 +36,85 @@ public class Shoe {
 	 */
 	private int nDealtCards;
 	
-	/** Creates a default shoe (unshuffled)
+	/** Creates a default shoe (unshuffled), shuffled with a randomly seeded generator
 	 * 
 	 * @param nDecks_in Number of decks that form a shoe.
 	 * 
 	 */
 	public Shoe(int nDecks_in) {
+		this(nDecks_in, RandomGenerator.getDefault());
+	}
+	
+	/** Creates a default shoe (unshuffled)
+	 * 
+	 * @param nDecks_in Number of decks that form a shoe.
+	 * @param rng_in Random number generator used to shuffle the shoe.
+	 * 
+	 */
+	public Shoe(int nDecks_in, RandomGenerator rng_in) {
+		rng = rng_in;
 		nDecks = nDecks_in;
 		nDealtCards = 0;
-		shoe = new ArrayList<Card>();
+		cursor = 0;
+		codes = new byte[nDecks*52];
 		for (int j = 0; j < nDecks; j++) {
 			for (int i = 0; i < 52; i++)
-				shoe.add(new Card(i));
+				codes[j*52 + i] = (byte) i;
 		}
 	}
 	
-	/** Creates a shoe based on the file input
-	 * <p>
-	 * Exits if an error is detected
+	/** Creates a shoe based on the file input (a text shoe file or a shoe corpus, whose first shoe is used,
+	 * see {@link ShoeCorpus})
 	 * 
 	 * @param shoeFile_in Name of the file which contains the shoe
+	 * @throws IllegalArgumentException if the file can't be read or is invalid
 	 * 
 	 */
 	public Shoe(String shoeFile_in) {
+		rng = RandomGenerator.getDefault();
 		nDealtCards = 0;
-		shoe = new ArrayList<Card>();
-		ArrayList<String> cards = new ArrayList<String>();		
-		Scanner scanner;
+		cursor = 0;
 		try {
-			scanner = new Scanner(new File(shoeFile_in));
-			String line = new String();
-			while (scanner.hasNextLine()) {
-				line = scanner.nextLine();
-				cards.addAll(Arrays.asList(line.split(" ", 0)));
-			}
-			scanner.close();
-			char suit;
-			String value;
-			String temp;
-			for(int i = 0; i < cards.size(); i++) {
-				temp = cards.get(i);
-				suit = temp.charAt(temp.length()-1);
-				value = temp.substring(0, temp.length()-1);
-				shoe.add(new Card(value, suit));
-			}			
-		} catch (FileNotFoundException e) {
-			System.out.println("Invalid shoe file: " + e);
-			System.exit(0);
+			if (ShoeCorpus.isCorpus(shoeFile_in)) {
+				ShoeCorpus corpus = new ShoeCorpus(shoeFile_in);
+				if (corpus.getNShoes() == 0)
+					throw new IOException(shoeFile_in + " has no shoes");
+				codes = corpus.getCodes(0);
+			} else
+				codes = read(shoeFile_in);
+		} catch (IOException | IllegalArgumentException e) {
+			throw new IllegalArgumentException("Invalid shoe file: " + e, e);
 		}
-		nDecks = cards.size()/52;
+		nDecks = codes.length/52;
+	}
+	
+	/** Creates a shoe whose cards are given by a subclass (see {@link ReplayShoe})
+	 */
+	protected Shoe() {
+		rng = null;
+		codes = new byte[0];
+	}
+	
+	/** Reads a shoe file in the text format: the cards, in the order they are dealt, separated by spaces
+	 * (such as {@code 10H AS 3C})
+	 * 
+	 * @param shoeFile_in Name of the file which contains the shoe
+	 * @return codes of the cards (see {@link Card#valueOf(int)})
+	 * @throws IOException if the file can't be read
+	 * @throws IllegalArgumentException if a card is invalid
+	 */
+	static byte[] read(String shoeFile_in) throws IOException {
+		ArrayList<String> cards = new ArrayList<String>();
+		try (Scanner scanner = new Scanner(new File(shoeFile_in))) {
+			while (scanner.hasNextLine())
+				cards.addAll(Arrays.asList(scanner.nextLine().split(" ", 0)));
+		}
+		byte[] read = new byte[cards.size()];
+		for (int i = 0; i < cards.size(); i++) {
+			String temp = cards.get(i);
+			read[i] = (byte) Card.valueOf(temp.substring(0, temp.length()-1), temp.charAt(temp.length()-1)).getCode();
+		}
+		return read;
 	}
 	
 	/** Gets number of decks.
@@ -86,30 +126,41 @@ public class Shoe {
 	}
 	
 	/** Shuffles the shoe.
-	 * <p>
-	 * Makes the shuffled cards not visible
 	 */
 	public void shuffle() {
-		Collections.shuffle(shoe);
-		for(Card c : shoe) {
-			c.setIsUp(false);
+		for (int i = codes.length - 1; i > 0; i--) {
+			int j = rng.nextInt(i + 1);
+			byte tmp = codes[i];
+			codes[i] = codes[j];
+			codes[j] = tmp;
 		}
+		cursor = 0;
 		resetNDealtCards();
 	}
 
-	/** Gets the top card from the shoe and places it ate the end of the shoe
+	/** Gets the top card from the shoe.
+	 * <p> The shoe works as a ring: the card dealt goes (logically) to the end of the shoe, 
+	 * so when the last card is dealt the cursor goes back to the first one.
 	 * 
 	 * @return card card got from the shoe.
 	 * 
 	 */
 	public Card getCard() {
-		Card card = shoe.get(0);
-		shoe.add(card);
-		shoe.remove(0);
+		Card card = Card.valueOf(codes[cursor]);
+		if (++cursor == codes.length)
+			cursor = 0;
 		++nDealtCards;
 		return card;
 	}
 	
+	/**
+	 * Gets the number of cards in the shoe
+	 * @return number of cards
+	 */
+	public int getNCards() {
+		return codes.length;
+	}
+	
 	/**
 	 * Gets the number of cards already dealt
 	 * @return number of dealt cards
@@ -124,12 +175,10 @@ public class Shoe {
 	
 	@Override
 	public String toString() {
-		String out = new String();
-		for (int i = 0; i < shoe.size(); i++) {
-			out += shoe.get(i).toString();
-			out += '\n';
-		}
-		return out;
+		StringBuilder out = new StringBuilder(4*codes.length);
+		for (int i = 0; i < codes.length; i++)
+			out.append(Card.valueOf(codes[(cursor + i) % codes.length]).toString()).append('\n');
+		return out.toString();
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,263 @@
+package blackjack;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Corpus of recorded shoes, in a compact binary file that is memory mapped.
+ * <p>
+ * The file starts with a header: the magic bytes {@code BJSH}, a version byte and the number of shoes (8 bytes).
+ * Then come the shoes, one after the other: the number of cards (2 bytes) and the code of each card (one byte,
+ * see {@link Card#valueOf(int)}), in the order they are dealt. All numbers are big endian.
+ * <p>
+ * The whole file is mapped read only, in windows of up to 1 GiB that overlap by the size of the largest shoe, so
+ * every shoe is inside one window and is read where it is, without copying (see {@link ReplayShoe}). The mapped
+ * windows are never changed, so a corpus can be shared by several threads. The offsets of one in every
+ * {@link #INDEX_STRIDE} shoes are kept, to start reading at any shoe.
+ */
+public final class ShoeCorpus {
+
+	/** Magic bytes at the start of a corpus file */
+	private static final byte[] MAGIC = {'B', 'J', 'S', 'H'};
+	/** Version of the format */
+	private static final byte VERSION = 1;
+	/** Size of the header */
+	static final int HEADER = MAGIC.length + 1 + 8;
+	/** Largest shoe (the number of cards has 2 bytes) */
+	static final int MAX_CARDS = 0xffff;
+	/** Distance between the starts of two windows */
+	private static final long WINDOW = 1L << 30;
+	/** Number of shoes between two indexed offsets */
+	static final int INDEX_STRIDE = 256;
+
+	/** Name of the file */
+	private final String file;
+	/** Size of the file */
+	private final long size;
+	/** Number of shoes */
+	private final long nShoes;
+	/** Mapped windows: window i starts at {@code i*WINDOW} */
+	private final ByteBuffer[] windows;
+	/** Offset of every {@link #INDEX_STRIDE}th shoe */
+	private final long[] index;
+
+	/** Opens a corpus: maps the file and checks all its shoes.
+	 *
+	 * @param file_in name of the file.
+	 * @throws IOException if the file can't be read or isn't a valid corpus.
+	 */
+	public ShoeCorpus(String file_in) throws IOException {
+		file = file_in;
+		try (FileChannel channel = FileChannel.open(Path.of(file_in), StandardOpenOption.READ)) {
+			size = channel.size();
+			windows = new ByteBuffer[(int) Math.max(1, (size + WINDOW - 1) / WINDOW)];
+			for (int i = 0; i < windows.length; i++) {
+				long start = i * WINDOW;
+				windows[i] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(size - start, WINDOW + 2 + MAX_CARDS));
+			}
+		}
+		if (size < HEADER || !isCorpus(windows[0]))
+			throw new IOException(file + " isn't a shoe corpus");
+		if (windows[0].get(MAGIC.length) != VERSION)
+			throw new IOException(file + ": unknown version " + windows[0].get(MAGIC.length));
+		nShoes = windows[0].getLong(MAGIC.length + 1);
+		if (nShoes < 0 || (nShoes + INDEX_STRIDE - 1) / INDEX_STRIDE > Integer.MAX_VALUE)
+			throw new IOException(file + ": invalid number of shoes " + nShoes);
+		index = new long[(int) ((nShoes + INDEX_STRIDE - 1) / INDEX_STRIDE)];
+		long offset = HEADER;
+		for (long i = 0; i < nShoes; i++) {
+			if (i % INDEX_STRIDE == 0)
+				index[(int) (i / INDEX_STRIDE)] = offset;
+			if (offset + 2 > size)
+				throw new IOException(file + ": shoe " + i + " is truncated");
+			int nCards = getLength(offset);
+			if (nCards == 0 || offset + 2 + nCards > size)
+				throw new IOException(file + ": shoe " + i + " is " + (nCards == 0 ? "empty" : "truncated"));
+			offset += 2 + nCards;
+		}
+		if (offset != size)
+			throw new IOException(file + ": " + (size - offset) + " bytes after the last shoe");
+	}
+
+	/** Checks if a buffer starts with the magic bytes of a corpus.
+	 *
+	 * @param buffer start of a file.
+	 * @return {@code true} if it is a corpus.
+	 */
+	private static boolean isCorpus(ByteBuffer buffer) {
+		if (buffer.limit() < MAGIC.length)
+			return false;
+		for (int i = 0; i < MAGIC.length; i++)
+			if (buffer.get(i) != MAGIC[i])
+				return false;
+		return true;
+	}
+
+	/** Checks if a file is a corpus (starts with its magic bytes).
+	 *
+	 * @param file_in name of the file.
+	 * @return {@code true} if it is a corpus.
+	 * @throws IOException if the file can't be read.
+	 */
+	public static boolean isCorpus(String file_in) throws IOException {
+		try (FileInputStream in = new FileInputStream(file_in)) {
+			return isCorpus(ByteBuffer.wrap(in.readNBytes(MAGIC.length)));
+		}
+	}
+
+	/** Gets the number of shoes.
+	 *
+	 * @return number of shoes.
+	 */
+	public long getNShoes() {
+		return nShoes;
+	}
+
+	/** Gets the window where a shoe is.
+	 *
+	 * @param offset offset of the shoe.
+	 * @return mapped window.
+	 */
+	ByteBuffer getWindow(long offset) {
+		return windows[(int) (offset / WINDOW)];
+	}
+
+	/** Gets the position of a shoe in its window.
+	 *
+	 * @param offset offset of the shoe.
+	 * @return position in the window.
+	 */
+	static int getPosition(long offset) {
+		return (int) (offset % WINDOW);
+	}
+
+	/** Gets the number of cards of a shoe.
+	 *
+	 * @param offset offset of the shoe.
+	 * @return number of cards.
+	 */
+	int getLength(long offset) {
+		return getWindow(offset).getShort(getPosition(offset)) & 0xffff;
+	}
+
+	/** Gets the offset of a shoe.
+	 *
+	 * @param shoe index of the shoe (from 0 to the number of shoes minus 1).
+	 * @return offset of the shoe.
+	 */
+	long getOffset(long shoe) {
+		long offset = index[(int) (shoe / INDEX_STRIDE)];
+		for (long i = shoe - shoe % INDEX_STRIDE; i < shoe; i++)
+			offset += 2 + getLength(offset);
+		return offset;
+	}
+
+	/** Gets the offset of the shoe after another one (after the last one, the first one).
+	 *
+	 * @param offset offset of a shoe.
+	 * @return offset of the next shoe.
+	 */
+	long next(long offset) {
+		offset += 2 + getLength(offset);
+		return (offset == size) ? HEADER : offset;
+	}
+
+	/** Gets the cards of a shoe (a copy, for a shoe that is dealt like a file shoe).
+	 *
+	 * @param shoe index of the shoe.
+	 * @return codes of the cards.
+	 */
+	byte[] getCodes(long shoe) {
+		long offset = getOffset(shoe);
+		byte[] codes = new byte[getLength(offset)];
+		getWindow(offset).get(getPosition(offset) + 2, codes);
+		return codes;
+	}
+
+	@Override
+	public String toString() {
+		return file + " (" + nShoes + " shoes)";
+	}
+
+	/**
+	 * Writes a corpus, one shoe at a time (the number of shoes in the header is written when it is closed).
+	 */
+	public static class Writer implements Closeable {
+		/** Name of the file */
+		private final String file;
+		/** Output stream */
+		private final DataOutputStream out;
+		/** Number of shoes written */
+		private long nShoes;
+
+		/** Creates a corpus file (an existing one is replaced).
+		 *
+		 * @param file_in name of the file.
+		 * @throws IOException if the file can't be written.
+		 */
+		public Writer(String file_in) throws IOException {
+			file = file_in;
+			out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file_in), 1 << 16));
+			out.write(MAGIC);
+			out.writeByte(VERSION);
+			out.writeLong(0);
+			nShoes = 0;
+		}
+
+		/** Writes a shoe.
+		 *
+		 * @param codes codes of its cards, in the order they are dealt.
+		 * @throws IOException if the file can't be written.
+		 * @throws IllegalArgumentException if the shoe is empty, too large or has invalid codes.
+		 */
+		public void add(byte[] codes) throws IOException {
+			if (codes.length == 0 || codes.length > MAX_CARDS)
+				throw new IllegalArgumentException("a shoe must have 1 to " + MAX_CARDS + " cards");
+			for (byte code : codes)
+				if (code < 0 || code >= 52)
+					throw new IllegalArgumentException("invalid card code " + code);
+			out.writeShort(codes.length);
+			out.write(codes);
+			++nShoes;
+		}
+
+		/** Writes the number of shoes and closes the file.
+		 *
+		 * @throws IOException if the file can't be written.
+		 */
+		@Override
+		public void close() throws IOException {
+			out.close();
+			try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+				raf.seek(MAGIC.length + 1);
+				raf.writeLong(nShoes);
+			}
+		}
+	}
+
+	/** Converts shoe files in the text format (the one of the Debug mode) into a corpus.
+	 *
+	 * @param corpus name of the corpus file.
+	 * @param shoeFiles names of the shoe files, in the order of the shoes in the corpus.
+	 * @return number of shoes written.
+	 * @throws IOException if a file can't be read or written.
+	 * @throws IllegalArgumentException if a shoe file is invalid.
+	 */
+	public static long convert(String corpus, String... shoeFiles) throws IOException {
+		try (Writer writer = new Writer(corpus)) {
+			for (String shoeFile : shoeFiles)
+				writer.add(Shoe.read(shoeFile));
+			return writer.nShoes;
+		}
+	}
+
+}
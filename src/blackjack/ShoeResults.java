@@ -0,0 +1,88 @@
+package blackjack;
+
+import java.util.Arrays;
+
+/**
+ * Listener that keeps the results of every shoe played by a simulation game: the number of hands, the
+ * number of hands won and the balance gained (or lost).
+ * <p>
+ * Used to compare strategies that play the same shoes (see {@link ParallelSimulation}): the results of
+ * the same shoe are paired, and only their differences are accumulated.
+ * <p>
+ * With several seats at the table, the results of the whole table are kept (the hands of every seat).
+ */
+class ShoeResults implements GameEventListener {
+
+	/** Hands played in each shoe */
+	private final int[] hands;
+	/** Hands won in each shoe */
+	private final int[] wins;
+	/** Balance gained in each shoe */
+	private final float[] gains;
+	/** Shoe being played (-1 before the first shuffle) */
+	private int shoe;
+	/** Balance of each seat after its last hand */
+	private final float[] balance;
+	/** Seat whose results are being reported */
+	private int seat;
+
+	/** Creates the results of a game.
+	 *
+	 * @param nShoes_in number of shoes played by the game.
+	 * @param balance_in starting player balance.
+	 */
+	ShoeResults(int nShoes_in, float balance_in) {
+		this(nShoes_in, balance_in, 1);
+	}
+
+	/** Creates the results of a game with several seats.
+	 *
+	 * @param nShoes_in number of shoes played by the game.
+	 * @param balance_in starting balance of each player.
+	 * @param nSeats_in number of seats.
+	 */
+	ShoeResults(int nShoes_in, float balance_in, int nSeats_in) {
+		hands = new int[nShoes_in];
+		wins = new int[nShoes_in];
+		gains = new float[nShoes_in];
+		shoe = -1;
+		balance = new float[nSeats_in];
+		Arrays.fill(balance, balance_in);
+	}
+
+	@Override
+	public void shuffling() {
+		++shoe;
+	}
+
+	@Override
+	public void seatResults(int seat_in) {
+		seat = seat_in;
+	}
+
+	@Override
+	public void handResult(int result, int index, float balance_in) {
+		++hands[shoe];
+		if (result == 1)
+			++wins[shoe];
+		gains[shoe] += balance_in - balance[seat];
+		balance[seat] = balance_in;
+	}
+
+	/** Adds the paired differences between the results of two games that played the same shoes.
+	 *
+	 * @param base results of the game the differences are relative to.
+	 * @param other results of the other game.
+	 * @param winRate differences of the win rate (other minus base) in each shoe.
+	 * @param gain differences of the balance gained (other minus base) in each shoe.
+	 */
+	static void addDifferences(ShoeResults base, ShoeResults other, RunningStats winRate, RunningStats gain) {
+		for (int i = 0; i < base.hands.length; i++) {
+			if (base.hands[i] == 0 || other.hands[i] == 0)
+				continue;
+			winRate.add((double) other.wins[i] / other.hands[i] - (double) base.wins[i] / base.hands[i]);
+			gain.add((double) other.gains[i] - base.gains[i]);
+		}
+	}
+
+}
@@ -8,6 +8,8 @@ import cardCounting.PlayerStrategy;
  * Implements the GameMode Interface <p>
  * The betting commands are obtained from a betting strategy, while the player commands are
  * obtained from a player strategy.
+ * <p> With several seats at the table, all of them share the strategies (and so the counts), and the game
+ * selects the seat whose bets are obtained with {@link #setSeat(int)}.
  */
 public class Simulation implements GameMode {
 	
@@ -19,6 +21,18 @@ public class Simulation implements GameMode {
 	 * Number of shuffles already performed
 	 */
 	private int currSNumber;
+	/**
+	 * Criterion that ends the simulation before sNumber shuffles
+	 */
+	private StopCriterion stop;
+	/**
+	 * If the stop criterion was met
+	 */
+	private boolean stopped;
+	/**
+	 * Value of the last bet command
+	 */
+	private int bet;
 	/**
 	 * Strategy used to get the player commands
 	 */
@@ -38,24 +52,35 @@ public class Simulation implements GameMode {
 	public Simulation (int sNumber_in, PlayerStrategy play_s, BettingStrategy bet_s) {
 		sNumber = sNumber_in;
 		currSNumber = -1;
+		stop = StopCriterion.NONE;
+		stopped = false;
 		play_strat = play_s;
 		bet_strat = bet_s;
 	}
 	
+	/** Selects the seat whose bets are obtained next (the betting strategy must be shared by the seats, see
+	 * {@link BettingStrategy#setSeats(int)})
+	 * 
+	 * @param seat the seat
+	 */
+	public void setSeat(int seat) {
+		bet_strat.selectSeat(seat);
+	}
+	
 	/** Gets the Player command as advised by the chosen Playing Strategy
 	 * 
 	 * @param nHands Player's number of hands (used by the playing Strategy to check is the player can split)
 	 * @param p_hand Player's hand
 	 * @param d_hand Dealer's hand
 	 * @param bet Value of the bet
-	 * @return best command according to the playing strategy or "q" if the simulation has ended
+	 * @return best command according to the playing strategy or QUIT if the simulation has ended
 	 * 
 	 */
 	@Override
-	public String getPlayCommand(int nHands, PlayerHand p_hand, Hand d_hand, int bet) {
-		String cmd;
-		if(currSNumber > sNumber)
-			 cmd = "q";
+	public Command getPlayCommand(int nHands, PlayerHand p_hand, Hand d_hand, int bet) {
+		Command cmd;
+		if(currSNumber > sNumber || stopped)
+			 cmd = Command.QUIT;
 		else
 			cmd = play_strat.getNextPlay(nHands, p_hand, d_hand, bet);
 		return cmd;
@@ -63,30 +88,72 @@ public class Simulation implements GameMode {
 
 	/** Gets the Betting command as advised by the chosen Betting Strategy
 	 * 
-	 * @return best bet according to the betting strategy or "q" if the simulation has ended
+	 * <p> The value of the bet is obtained with {@link #getBet()}.
+	 * @return BET or QUIT if the simulation has ended
 	 * 
 	 */
 	@Override
-	public String getBetCommand() {
-		String cmd;
-		if(currSNumber > sNumber) {
-			cmd = "q";
+	public Command getBetCommand() {
+		Command cmd;
+		if(currSNumber > sNumber || stopped) {
+			cmd = Command.QUIT;
+		}
+		else {
+			bet = bet_strat.getNextBet();
+			cmd = Command.BET;
 		}
-		else
-			cmd = "b " + bet_strat.getNextBet();
 		return cmd;
 	}
 	
+	/** Gets the bet advised by the betting strategy in the last bet command
+	 * 
+	 * @return value of the bet
+	 */
+	@Override
+	public int getBet() {
+		return bet;
+	}
+	
+	/** Gets the text of the last bet command (the strategy always gives a value)
+	 * 
+	 * @return text of the bet command
+	 */
+	@Override
+	public String getBetText() {
+		return "b " + bet;
+	}
+	
 	/** Increments the current sNumber
 	 */
 	public void incCurrSNumber() {
 		++currSNumber;
 	}
 	
+	/** Sets the criterion that ends the simulation before sNumber shuffles (by default, there is none).
+	 * 
+	 * @param stop_in stop criterion
+	 */
+	public void setStopCriterion(StopCriterion stop_in) {
+		stop = stop_in;
+	}
+	
+	/** Checks the stop criterion (once per shoe); if it is met, the simulation ends (returns QUIT commands).
+	 * <p> With several seats, the EV must have converged for all of them.
+	 * 
+	 * @param stats statistics of the player of each seat
+	 */
+	public void checkStop(PlayerStats[] stats) {
+		boolean converged = true;
+		for (int s = 0; s < stats.length && converged; s++)
+			converged = stop.isConverged(stats[s].getRounds());
+		if (converged || stop.isExpired())
+			stopped = true;
+	}
+	
 	/** Only called by the Debug and Interactive modes, that implement the same interface as the Simulation
 	 */
 	@Override
-	public String getPlayCommand() {
+	public Command getPlayCommand() {
 		return null;
 	}
 		
@@ -12,8 +12,8 @@ package blackjack;
 */
 public class Stats {
 
-	protected int handsPlayed;
-	protected int blackjacks;
+	protected long handsPlayed;
+	protected long blackjacks;
 
 	/** Initializes the statistics.
 	*/
@@ -31,6 +31,15 @@ public class Stats {
 		return (double)blackjacks/handsPlayed;
 	}
 	
+	/** Gets the number of hands played.
+	 * 
+	 * @return number of hands.
+	 * 
+	*/
+	public long getHandsPlayed() {
+		return handsPlayed;
+	}
+	
 	/** Calculates the ratio of blackjacks per hand.
 	*/
 	public void incHandsPlayed() {
@@ -42,4 +51,14 @@ public class Stats {
 	public void incBlackjacks() {
 		++blackjacks;
 	}
+	
+	/** Adds the counts of other statistics (for example, from another simulation shard) to these ones.
+	 * 
+	 * @param other statistics to be added.
+	 * 
+	*/
+	public void merge(Stats other) {
+		handsPlayed += other.handsPlayed;
+		blackjacks += other.blackjacks;
+	}
 }
@@ -0,0 +1,71 @@
+package blackjack;
+
+/**
+ * Criterion that ends a simulation before all its shoes are played: when the expected value per round is known
+ * with the wanted precision (the half width of its 95% confidence interval is below a target) or when a wall
+ * clock budget expires, whichever happens first.
+ * <p>
+ * It is checked once per shoe, when the shoe is shuffled, so both checks must be cheap.
+ */
+public class StopCriterion {
+
+	/** Criterion that never stops a simulation */
+	public static final StopCriterion NONE = new StopCriterion(0, 0);
+	/** Minimum number of rounds before the confidence interval is trusted (normal approximation) */
+	static final long MIN_ROUNDS = 1000;
+
+	/** Target half width of the 95% confidence interval of the EV per round (0 if there is none) */
+	private final double halfWidth;
+	/** Time when the budget started ({@link System#nanoTime()}) */
+	private final long start;
+	/** Wall clock budget, in nanoseconds ({@link Long#MAX_VALUE} if there is none) */
+	private final long budget;
+
+	/** Creates a criterion.
+	 *
+	 * @param halfWidth_in target half width of the 95% confidence interval of the EV per round, in units of
+	 * the initial bet (0 for no target).
+	 * @param seconds_in wall clock budget, in seconds, starting now (0 for no budget).
+	 */
+	public StopCriterion(double halfWidth_in, double seconds_in) {
+		this(halfWidth_in, System.nanoTime(), (seconds_in > 0) ? (long) (seconds_in * 1e9) : Long.MAX_VALUE);
+	}
+
+	/** Creates a criterion with a budget that already started.
+	 *
+	 * @param halfWidth_in target half width (0 for no target).
+	 * @param start_in time when the budget started.
+	 * @param budget_in budget, in nanoseconds.
+	 */
+	private StopCriterion(double halfWidth_in, long start_in, long budget_in) {
+		halfWidth = halfWidth_in;
+		start = start_in;
+		budget = budget_in;
+	}
+
+	/** Gets a criterion with the same time budget (sharing its start), but without the precision target.
+	 *
+	 * @return criterion that only checks the time budget.
+	 */
+	public StopCriterion timeOnly() {
+		return new StopCriterion(0, start, budget);
+	}
+
+	/** Checks if the EV per round is known with the target precision.
+	 *
+	 * @param rounds net results of the rounds played.
+	 * @return {@code true} if there is a target and the half width of the confidence interval is below it.
+	 */
+	public boolean isConverged(RunningStats rounds) {
+		return rounds.getN() >= MIN_ROUNDS && rounds.getHalfWidth95() < halfWidth;
+	}
+
+	/** Checks if the time budget expired.
+	 *
+	 * @return {@code true} if there is a budget and it expired.
+	 */
+	public boolean isExpired() {
+		return budget != Long.MAX_VALUE && System.nanoTime() - start >= budget;
+	}
+
+}
@@ -0,0 +1,233 @@
+package blackjack;
+
+import java.text.DecimalFormat;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.JumpableGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+import cardCounting.DeviationTable;
+import cardCounting.StrategyTable;
+
+/**
+ * Class that hosts many independent tables (a casino floor) and plays them on a bounded thread pool.
+ * <p>
+ * Every table is a simulation {@link Game} of its own, with its own dealer, shoe, players and strategies, that
+ * plays sNumber + 1 shoes (unless its stop criterion is met before) and returns its results with
+ * {@link Game#run()}. Unlike the shards of a {@link ParallelSimulation}, the tables are never merged: the results of
+ * each table are printed, in table order, followed by the totals of the floor and its throughput.
+ * <p>
+ * With a comma separated list of strategies, they are assigned to the tables in turn. Every table shuffles its
+ * shoe with its own random number generator, split (or jumped) from a root generator in table order, so a floor
+ * with a given seed always has the same results, whatever the number of threads.
+ * <p>
+ * Only a few tables per thread are waiting in the pool at a time, so the number of tables is only limited by the
+ * time they take.
+ */
+public class TableHost {
+
+	/**
+	 * Number of tables submitted to the pool for each thread, before waiting for the oldest one to end
+	 */
+	private static final int TABLES_PER_THREAD = 4;
+
+	/** Minimum value for the bet */
+	private final int minBet;
+	/** Maximum value for the bet */
+	private final int maxBet;
+	/** Starting player balance */
+	private final int balance;
+	/** Number of decks in the shoe */
+	private final int nDecks;
+	/** Percentage of the shoe that has to be played before shuffling */
+	private final int intShuffle;
+	/** Number of shuffles until the end of each table */
+	private final int sNumber;
+	/** Strategies used by the players (assigned to the tables in turn) */
+	private final String[] strategies;
+	/** Number of threads playing the tables */
+	private final int nThreads;
+	/** Generator from which the generators of the tables are split (or jumped) */
+	private final RandomGenerator rng;
+	/** Basic Strategy table used by the playing strategies */
+	private StrategyTable table = StrategyTable.BASIC;
+	/** Index plays used by the Hi-Lo strategy */
+	private DeviationTable deviations = DeviationTable.HI_LO_BASIC;
+	/** Criterion that ends each table before all its shoes are played */
+	private StopCriterion stop = StopCriterion.NONE;
+	/** Number of seats at each table */
+	private int nSeats = 1;
+
+	/** Initializes the parameters of the tables (the same as the ones of the simulation {@link Game}).
+	 *
+	 * @param minBet_in Minimum value for the bet that is allowed.
+	 * @param maxBet_in Maximum value for the bet that is allowed.
+	 * @param balance_in Starting player balance.
+	 * @param nDecks_in Number of decks in the shoe.
+	 * @param intShuffle_in Percentage of the shoe that has to be played before shuffling.
+	 * @param sNumber_in Number of shuffles until the end of each table.
+	 * @param strategy_in Strategy that will be used, or a comma separated list of strategies used in turn.
+	 * @param nThreads_in Number of threads playing the tables.
+	 * @param rng_in Name of the random number generator algorithm (see {@link RandomGeneratorFactory}); must be
+	 * splittable or jumpable.
+	 * @param seed_in Seed of the random number generator, or {@code null} for a random seed.
+	 * @throws IllegalArgumentException if the algorithm doesn't exist or can't be split or jumped.
+	 */
+	public TableHost(int minBet_in, int maxBet_in, int balance_in, int nDecks_in, int intShuffle_in,
+			int sNumber_in, String strategy_in, int nThreads_in, String rng_in, Long seed_in) {
+		RandomGeneratorFactory<RandomGenerator> factory = RandomGeneratorFactory.of(rng_in);
+		if (!factory.isSplittable() && !factory.isJumpable())
+			throw new IllegalArgumentException(rng_in + " can't be split or jumped");
+		rng = (seed_in == null) ? factory.create() : factory.create(seed_in);
+		strategies = strategy_in.split(",");
+		minBet = minBet_in;
+		maxBet = maxBet_in;
+		balance = balance_in;
+		nDecks = nDecks_in;
+		intShuffle = intShuffle_in;
+		sNumber = sNumber_in;
+		nThreads = nThreads_in;
+	}
+
+	/** Sets the strategy tables used by the playing strategies (the default ones are {@link StrategyTable#BASIC}
+	 * and {@link DeviationTable#HI_LO_BASIC}).
+	 *
+	 * @param table_in Basic Strategy table.
+	 * @param deviations_in Hi-Lo index plays, layered over table_in.
+	 */
+	public void setStrategyTables(StrategyTable table_in, DeviationTable deviations_in) {
+		table = table_in;
+		deviations = deviations_in;
+	}
+
+	/** Sets the criterion that ends each table before all its shoes are played (by default, there is none). Its
+	 * precision target is checked by each table on its own results, and no more tables are started after its time
+	 * budget expires.
+	 *
+	 * @param stop_in stop criterion.
+	 */
+	public void setStopCriterion(StopCriterion stop_in) {
+		stop = stop_in;
+	}
+
+	/** Sets the number of seats at each table (by default, there is only one).
+	 *
+	 * @param nSeats_in number of seats, from 1 to {@link Game#MAX_SEATS}.
+	 */
+	public void setSeats(int nSeats_in) {
+		nSeats = nSeats_in;
+	}
+
+	/** Creates the game of a table. Tables must be created in order, so that each one always gets the same
+	 * generator.
+	 *
+	 * @param index index of the table.
+	 * @return the table game, ready to be played.
+	 */
+	private Game newTable(int index) {
+		RandomGenerator table_rng;
+		if (rng instanceof SplittableGenerator)
+			table_rng = ((SplittableGenerator) rng).split();
+		else
+			table_rng = ((JumpableGenerator) rng).copyAndJump();
+		Game game = new Game('s', minBet, maxBet, balance, nDecks, intShuffle, sNumber,
+				strategies[index % strategies.length], table_rng, table, deviations, nSeats);
+		game.setStopCriterion(stop);
+		return game;
+	}
+
+	/**
+	 * Plays every table and prints the results of each one (rounds played, EV per round of its seats and the
+	 * balance gained by its players), and then the totals of the floor: tables played, rounds and hands per second,
+	 * and the EV per round of all the seats.
+	 *
+	 * @param nTables number of tables.
+	 * @return results of each table played (less than nTables if the time budget expired).
+	 */
+	public GameResults[] run(int nTables) {
+		long start = System.nanoTime();
+		ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+		ArrayDeque<Future<GameResults>> running = new ArrayDeque<Future<GameResults>>();
+		GameResults[] results = new GameResults[nTables];
+		int played = 0;
+		boolean expired = false;
+		try {
+			for (int i = 0; i < nTables; i++) {
+				if (i > 0 && stop.isExpired()) {
+					expired = true;
+					break;
+				}
+				// Tables are created here, so that an invalid strategy is reported before any table is played
+				Game game = newTable(i);
+				running.add(pool.submit(game::run));
+				if (running.size() >= nThreads * TABLES_PER_THREAD) {
+					results[played] = running.poll().get();
+					printTable(played, results[played]);
+					++played;
+				}
+			}
+			while (!running.isEmpty()) {
+				results[played] = running.poll().get();
+				printTable(played, results[played]);
+				++played;
+			}
+		} catch (InterruptedException | ExecutionException e) {
+			throw new IllegalStateException("tables failed", e);
+		} finally {
+			pool.shutdownNow();
+		}
+		printTotals(results, played, System.nanoTime() - start);
+		if (expired)
+			System.out.println("Stopped: time budget expired");
+		return (played == nTables) ? results : Arrays.copyOf(results, played);
+	}
+
+	/** Prints the results of a table.
+	 *
+	 * @param index index of the table.
+	 * @param result results of the table.
+	 */
+	private void printTable(int index, GameResults result) {
+		DecimalFormat df = new DecimalFormat("#.##");
+		DecimalFormat rf = new DecimalFormat("#.####");
+		RunningStats rounds = result.getSeatRounds();
+		System.out.println("Table " + (index + 1) + "\t" + strategies[index % strategies.length] + "\t"
+				+ result.getRounds() + " rounds\tEV " + rf.format(rounds.getMean()) + " (SE "
+				+ rf.format(rounds.getStandardError()) + ")\tBalance " + df.format(result.getGain()));
+	}
+
+	/** Prints the totals of the tables played.
+	 *
+	 * @param results results of the tables.
+	 * @param played number of tables played.
+	 * @param nanos time they took, in nanoseconds.
+	 */
+	private static void printTotals(GameResults[] results, int played, long nanos) {
+		DecimalFormat df = new DecimalFormat("#.##");
+		DecimalFormat rf = new DecimalFormat("#.####");
+		RunningStats rounds = new RunningStats();
+		long tableRounds = 0, hands = 0;
+		double gain = 0;
+		for (int i = 0; i < played; i++) {
+			rounds.merge(results[i].getSeatRounds());
+			tableRounds += results[i].getRounds();
+			for (int s = 0; s < results[i].getNSeats(); s++)
+				hands += results[i].getPlayerStats(s).getHandsPlayed();
+			gain += results[i].getGain();
+		}
+		double seconds = nanos / 1e9;
+		System.out.println(played + " tables, " + tableRounds + " rounds, " + hands + " hands (" + df.format(nanos / 1e6)
+				+ " ms)");
+		System.out.println("Throughput\t" + df.format(tableRounds / seconds) + " rounds/s, " + df.format(hands / seconds)
+				+ " hands/s");
+		System.out.println("EV   \t" + rf.format(rounds.getMean()) + " (SE " + rf.format(rounds.getStandardError()) + ")");
+		System.out.println("Balance\t" + df.format(gain));
+	}
+
+}
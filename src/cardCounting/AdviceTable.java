@@ -0,0 +1,125 @@
+package cardCounting;
+
+import blackjack.Command;
+import blackjack.HandState;
+
+/**
+ * Class that holds the advice of the Basic and Hi-Lo strategies for every decision, precomputed.
+ * <p>
+ * A decision is the state of the player's hand (see {@link HandState}), the dealer's up card, the true count and
+ * the plays that are possible (double, split and surrender, with the same rules as {@link Basic} and {@link HiLo},
+ * and if the hand is still the opening one, so that insurance can be taken). When the table is created, both
+ * strategies are evaluated for every decision, and their advices are packed in one byte, so that getting them is a
+ * single array read, without any hand or strategy objects.
+ */
+public final class AdviceTable {
+
+	/** Advice: insurance (the other advices are the {@link StrategyTable} actions) */
+	public static final byte INSURANCE = 5;
+	/** Commands of the advices, indexed by advice */
+	private static final Command[] COMMANDS = {Command.HIT, Command.STAND, Command.DOUBLE, Command.SPLIT,
+			Command.SURRENDER, Command.INSURANCE};
+	/** Situation flag: the hand is the opening hand (insurance can be taken); the other flags are the
+	 * {@link StrategyTable} availability flags */
+	static final int OPENING = 8;
+	/** Number of combinations of the situation flags */
+	private static final int FLAGS = 16;
+	/** Number of dealer's up cards (2 to 11) */
+	private static final int UPCARDS = 10;
+	/** Number of true counts with their own advices */
+	private static final int COUNTS = DeviationTable.MAX_COUNT - DeviationTable.MIN_COUNT + 1;
+
+	/** Maximum value for the bet (a hand can only be doubled if the double bet isn't above it) */
+	private final int maxBet;
+	/** Minimum total for a Double down */
+	private final int DDmin;
+	/** Maximum total for a Double down */
+	private final int DDmax;
+	/** Advices of every decision: the Hi-Lo one in the high 4 bits and the Basic one in the low 4 bits */
+	private final byte[] advices;
+
+	/** Creates the table, evaluating both strategies for every decision.
+	 *
+	 * @param maxBet_in Maximum value for the bet.
+	 * @param DDmin_in Minimum possible value for a Double down.
+	 * @param DDmax_in Maximum possible value for a Double down.
+	 * @param table_in Strategy table of the Basic strategy.
+	 * @param deviations_in Index plays of the Hi-Lo strategy.
+	 */
+	public AdviceTable(int maxBet_in, int DDmin_in, int DDmax_in, StrategyTable table_in, DeviationTable deviations_in) {
+		maxBet = maxBet_in;
+		DDmin = DDmin_in;
+		DDmax = DDmax_in;
+		int states = HandState.count();
+		advices = new byte[COUNTS*states*UPCARDS*FLAGS];
+		for (int c = 0; c < COUNTS; c++) {
+			int count = c + DeviationTable.MIN_COUNT;
+			StrategyTable counted = deviations_in.getTable(count);
+			for (int state = 0; state < states; state++)
+				for (int up = 2; up <= 11; up++)
+					for (int flags = 0; flags < FLAGS; flags++) {
+						int mask = flags & ~OPENING;
+						byte basic = table_in.getAction(state, up, mask);
+						byte hiLo = (up == 11 && (flags & OPENING) != 0 && count >= deviations_in.getInsuranceIndex())
+								? INSURANCE : counted.getAction(state, up, mask);
+						advices[index(c, state, up, flags)] = (byte) ((hiLo << 4) | basic);
+					}
+		}
+	}
+
+	/** Gets the position of a decision in the table.
+	 *
+	 * @param c true count minus {@link DeviationTable#MIN_COUNT}.
+	 * @param state state of the player's hand.
+	 * @param up value of the dealer's up card (2 to 11).
+	 * @param flags situation flags.
+	 * @return position of the decision.
+	 */
+	private static int index(int c, int state, int up, int flags) {
+		return ((c*HandState.count() + state)*UPCARDS + up - 2)*FLAGS + flags;
+	}
+
+	/** Gets the advices of both strategies for a decision.
+	 *
+	 * @param state state of the player's hand (see {@link HandState}).
+	 * @param nCards number of cards of the hand.
+	 * @param nHands number of hands of the player (more than one after splitting).
+	 * @param bet value of the bet of the hand.
+	 * @param up value of the dealer's up card (2 to 11, with the Ace as 11).
+	 * @param count true count (clamped to the range of the {@link DeviationTable}).
+	 * @return the advices (see {@link #getBasic(int)} and {@link #getHiLo(int)}).
+	 */
+	public int getAdvices(int state, int nCards, int nHands, int bet, int up, int count) {
+		int flags = (nHands < 4) ? StrategyTable.CAN_SPLIT : 0;
+		if (nCards == 2) {
+			int value = HandState.getInfo(state) & HandState.VALUE_MASK;
+			flags |= StrategyTable.CAN_SURRENDER;
+			if (value >= DDmin && value <= DDmax && 2*bet <= maxBet)
+				flags |= StrategyTable.CAN_DOUBLE;
+			if (nHands == 1)
+				flags |= OPENING;
+		}
+		int c = (count < DeviationTable.MIN_COUNT) ? 0 : (count > DeviationTable.MAX_COUNT) ? COUNTS - 1
+				: count - DeviationTable.MIN_COUNT;
+		return advices[index(c, state, up, flags)];
+	}
+
+	/** Gets the advice of the Basic strategy.
+	 *
+	 * @param advices advices of a decision (see {@link #getAdvices(int, int, int, int, int, int)}).
+	 * @return the advised command.
+	 */
+	public static Command getBasic(int advices) {
+		return COMMANDS[advices & 0xf];
+	}
+
+	/** Gets the advice of the Hi-Lo strategy.
+	 *
+	 * @param advices advices of a decision (see {@link #getAdvices(int, int, int, int, int, int)}).
+	 * @return the advised command.
+	 */
+	public static Command getHiLo(int advices) {
+		return COMMANDS[(advices >> 4) & 0xf];
+	}
+
+}
@@ -1,11 +1,17 @@
 package cardCounting;
 
+import java.util.Arrays;
+
 import blackjack.Card;
+import blackjack.CardObserver;
 
 /** Class that implements a generic betting Strategy
+ * <p> Observes the cards that are seen, to update its count
+ * <p> A strategy can be shared by the seats of a table (see {@link #setSeats(int)}): the count is the same for
+ * all of them, while each seat keeps its own bet.
  */
 
-public abstract class BettingStrategy {
+public abstract class BettingStrategy implements CardObserver {
 	
 	/**
 	 * count according to which the betting decisions will be made (most usefull for Ace 5 or variations)
@@ -23,6 +29,14 @@ public abstract class BettingStrategy {
 	 * Overall maximum bet allowed
 	 */
 	protected int max_bet;
+	/**
+	 * Bet of each seat, when the strategy is shared by several seats (curr_bet is the one of the selected seat)
+	 */
+	private int[] seat_bets;
+	/**
+	 * Selected seat
+	 */
+	private int seat;
 	
 	/** Initializes the bet parameters. Sets count to 0, makes current bet as the default, minimum bet 
 	 * (will be changed later) and sets the min and max bets
@@ -47,6 +61,29 @@ public abstract class BettingStrategy {
 		curr_bet = bet_in;
 	}
 	
+	/** Shares the strategy by several seats, all of them starting with the minimum bet (the first seat is selected)
+	 * 
+	 * @param nSeats Number of seats.
+	 * 
+	 */
+	public void setSeats(int nSeats) {
+		seat_bets = new int[nSeats];
+		Arrays.fill(seat_bets, min_bet);
+		curr_bet = min_bet;
+		seat = 0;
+	}
+	
+	/** Selects the seat whose bets are computed and updated next (see {@link #setSeats(int)})
+	 * 
+	 * @param seat_in The seat.
+	 * 
+	 */
+	public void selectSeat(int seat_in) {
+		seat_bets[seat] = curr_bet;
+		curr_bet = seat_bets[seat_in];
+		seat = seat_in;
+	}
+	
 	/** The way the next bet is computed is dependent on the chosen betting strategy
 	 */
 	public abstract int getNextBet();
@@ -61,4 +98,18 @@ public abstract class BettingStrategy {
 		count = 0;
 	}
 	
+	/** Updates the count with a card that was seen (see {@link #updateCount(Card)})
+	 */
+	@Override
+	public final void cardSeen(Card card) {
+		updateCount(card);
+	}
+	
+	/** Resets the count when the shoe is shuffled (see {@link #resetCount()})
+	 */
+	@Override
+	public final void shuffled() {
+		resetCount();
+	}
+	
 }
\ No newline at end of file
@@ -0,0 +1,213 @@
+package cardCounting;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+
+import blackjack.Card;
+import blackjack.PlayerHand;
+
+/**
+ * Class that implements a table of count dependent plays (index plays) layered over a strategy table.
+ * <p>
+ * Each deviation changes the play of one cell of the strategy chart (hand type, total and dealer's up card)
+ * when the true count is at least its index. When the table is created, the deviations are applied to a copy
+ * of the chart for every true count from {@link #MIN_COUNT} to {@link #MAX_COUNT}, and each copy is compiled
+ * into a {@link StrategyTable}, so that getting a play is still a single array read (true counts outside
+ * of the range are clamped).
+ * <p>
+ * In a deviations file (see {@link #parse(BufferedReader, StrategyTable)}) each line has the hand type,
+ * the total (or pair value), the dealer's up card (2 to 10 or A), the index and the play (written as in the
+ * {@link StrategyTable} charts) for counts at or above the index, optionally followed by the play for the
+ * counts below it (by default, the chart play). Deviations of the same cell are applied in increasing index
+ * order. A line {@code insurance <index>} sets the count from which insurance is taken. Blank lines and lines
+ * starting with {@code #} are ignored.
+ */
+public class DeviationTable {
+
+	/** Lowest true count with its own plays */
+	public static final int MIN_COUNT = -10;
+	/** Highest true count with its own plays */
+	public static final int MAX_COUNT = 10;
+
+	/** The Illustrious 18 and Fab 4 index plays of the Hi-Lo strategy, over the Basic Strategy table */
+	public static final String HI_LO =
+		"#        up index play below\n" +
+		"insurance          3\n" +
+		"hard 9   2   1     Dh   H\n" +
+		"hard 9   7   3     Dh   H\n" +
+		"hard 10  10  4     Dh   H\n" +
+		"hard 10  A   4     Dh   H\n" +
+		"pair 5   10  4     Dh   H\n" +
+		"pair 5   A   4     Dh   H\n" +
+		"hard 11  A   1     Dh   H\n" +
+		"hard 12  2   3     S    H\n" +
+		"hard 12  3   2     S    H\n" +
+		"hard 12  4   0     S    H\n" +
+		"hard 12  5   -2    S    H\n" +
+		"hard 12  6   -1    S    H\n" +
+		"hard 13  2   -1    S    H\n" +
+		"hard 13  3   -2    S    H\n" +
+		"hard 14  10  3     Rh\n" +
+		"hard 15  9   2     Rh\n" +
+		"hard 15  10  1     Rh   H\n" +
+		"hard 15  10  4     S\n" +
+		"hard 15  A   1     Rh\n" +
+		"hard 16  9   5     S    H\n" +
+		"hard 16  10  0     S    H\n" +
+		"pair 10  5   5     P    S\n" +
+		"pair 10  6   4     P    S\n";
+
+	/** The Hi-Lo index plays over the Basic Strategy table */
+	public static final DeviationTable HI_LO_BASIC = of(StrategyTable.BASIC);
+
+	/** Compiled tables, indexed by true count minus {@link #MIN_COUNT} */
+	private final StrategyTable[] tables;
+	/** True count from which insurance is taken */
+	private final int insuranceIndex;
+
+	/** Creates a table from its compiled tables.
+	 *
+	 * @param tables_in compiled table of every true count.
+	 * @param insuranceIndex_in true count from which insurance is taken.
+	 */
+	private DeviationTable(StrategyTable[] tables_in, int insuranceIndex_in) {
+		tables = tables_in;
+		insuranceIndex = insuranceIndex_in;
+	}
+
+	/** Gets the action for a hand.
+	 *
+	 * @param count true count.
+	 * @param p_hand player's hand.
+	 * @param d_card dealer's up card.
+	 * @param mask available plays (see {@link StrategyTable#getAction(PlayerHand, Card, int)}).
+	 * @return action.
+	 */
+	public byte getAction(int count, PlayerHand p_hand, Card d_card, int mask) {
+		return getTable(count).getAction(p_hand, d_card, mask);
+	}
+
+	/** Gets the compiled table of a true count.
+	 *
+	 * @param count true count (clamped to the range of the table).
+	 * @return the table.
+	 */
+	StrategyTable getTable(int count) {
+		int clamped = (count < MIN_COUNT) ? MIN_COUNT : (count > MAX_COUNT) ? MAX_COUNT : count;
+		return tables[clamped - MIN_COUNT];
+	}
+
+	/** Gets the true count from which insurance is taken.
+	 *
+	 * @return insurance index ({@link Integer#MAX_VALUE} if insurance is never taken).
+	 */
+	public int getInsuranceIndex() {
+		return insuranceIndex;
+	}
+
+	/** Gets the Hi-Lo index plays over a strategy table.
+	 *
+	 * @param base strategy table.
+	 * @return the table with the {@link #HI_LO} deviations.
+	 */
+	public static DeviationTable of(StrategyTable base) {
+		try {
+			return parse(new BufferedReader(new StringReader(HI_LO)), base);
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/** Reads a deviations file.
+	 *
+	 * @param file name of the file.
+	 * @param base strategy table the deviations are applied to.
+	 * @return the table.
+	 * @throws IOException if the file can't be read.
+	 * @throws IllegalArgumentException if the file isn't valid.
+	 */
+	public static DeviationTable load(String file, StrategyTable base) throws IOException {
+		try (BufferedReader in = new BufferedReader(new FileReader(file))) {
+			return parse(in, base);
+		}
+	}
+
+	/** Reads deviations and applies them to a strategy table.
+	 *
+	 * @param in reader with the deviation lines.
+	 * @param base strategy table the deviations are applied to.
+	 * @return the table.
+	 * @throws IOException if the deviations can't be read.
+	 * @throws IllegalArgumentException if the deviations aren't valid.
+	 */
+	public static DeviationTable parse(BufferedReader in, StrategyTable base) throws IOException {
+		int nCounts = MAX_COUNT - MIN_COUNT + 1;
+		byte[][] charts = new byte[nCounts][];
+		for (int i = 0; i < nCounts; i++)
+			charts[i] = base.getChart();
+		// Deviations sorted by index: {cell, index, play, play below the index or -1}
+		ArrayList<int[]> deviations = new ArrayList<int[]>();
+		int insuranceIndex = Integer.MAX_VALUE;
+		String line;
+		int nLine = 0;
+		while ((line = in.readLine()) != null) {
+			nLine++;
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#"))
+				continue;
+			String[] toks = line.split("\\s+");
+			if (toks[0].equals("insurance")) {
+				if (toks.length != 2)
+					throw new IllegalArgumentException("line " + nLine + ": expected the insurance index");
+				insuranceIndex = parseIndex(toks[1], nLine);
+				continue;
+			}
+			if (toks.length != 5 && toks.length != 6)
+				throw new IllegalArgumentException("line " + nLine + ": expected a hand type, a total, an up card, an index and 1 or 2 plays");
+			int type = StrategyTable.parseType(toks[0], nLine);
+			int row = StrategyTable.parseRow(toks[1], type, nLine);
+			int up = StrategyTable.parseUpcard(toks[2], nLine);
+			int index = parseIndex(toks[3], nLine);
+			int play = StrategyTable.parseCode(toks[4], type, nLine);
+			int below = (toks.length == 6) ? StrategyTable.parseCode(toks[5], type, nLine) : -1;
+			int[] deviation = {StrategyTable.cell(type, row, up), index, play, below};
+			int pos = deviations.size();
+			while (pos > 0 && deviations.get(pos - 1)[1] > index)
+				pos--;
+			deviations.add(pos, deviation);
+		}
+		for (int[] deviation : deviations)
+			for (int count = MIN_COUNT; count <= MAX_COUNT; count++) {
+				if (count >= deviation[1])
+					charts[count - MIN_COUNT][deviation[0]] = (byte) deviation[2];
+				else if (deviation[3] >= 0)
+					charts[count - MIN_COUNT][deviation[0]] = (byte) deviation[3];
+			}
+		StrategyTable[] tables = new StrategyTable[nCounts];
+		for (int i = 0; i < nCounts; i++)
+			tables[i] = new StrategyTable(charts[i]);
+		return new DeviationTable(tables, insuranceIndex);
+	}
+
+	/** Parses an index.
+	 *
+	 * @param tok token with the index.
+	 * @param nLine line number (for the error message).
+	 * @return index, from {@link #MIN_COUNT} to {@link #MAX_COUNT}.
+	 */
+	private static int parseIndex(String tok, int nLine) {
+		int index = Integer.MIN_VALUE;
+		try {
+			index = Integer.parseInt(tok);
+		} catch (NumberFormatException nfe) {
+			// index stays invalid
+		}
+		if (index < MIN_COUNT || index > MAX_COUNT)
+			throw new IllegalArgumentException("line " + nLine + ": invalid index " + tok);
+		return index;
+	}
+
+}
@@ -1,13 +1,16 @@
 package cardCounting;
 
 import blackjack.Card;
+import blackjack.CardObserver;
+import blackjack.Command;
 import blackjack.Hand;
 import blackjack.PlayerHand;
 
 /**
  * Class that implements the Hi-Lo card counting strategy 
+ * <p> Observes the cards that are seen, to update its counts
  */
-public class HiLo extends PlayerStrategy {
+public class HiLo extends PlayerStrategy implements CardObserver {
 
 	/**
 	 * Running counter which updates based on the value of the cards that are dealt */
@@ -22,9 +25,10 @@ public class HiLo extends PlayerStrategy {
 	 * Number of decks that compose the shoe */
 	private int nDecks;
 	/**
-	 * Apply basic strategy for the cases that the Hi-Lo Strategy doens't offer an answer
+	 * Index plays of the Hi-Lo Strategy, layered over the Basic Strategy table for the cases that the 
+	 * Hi-Lo Strategy doesn't offer an answer
 	 */
-	private PlayerStrategy basic_strat;
+	private final DeviationTable deviations;
 	
 	/** 
 	 * Implements the Hi-Lo counting strategy
@@ -35,12 +39,25 @@ public class HiLo extends PlayerStrategy {
 	 * @param nDecks_in Number of decks that constitute the shoe
 	 */
 	public HiLo (int max_bet_in, int DDmin_in, int DDmax_in, int nDecks_in) {
+		this(max_bet_in, DDmin_in, DDmax_in, nDecks_in, DeviationTable.HI_LO_BASIC);
+	}
+	
+	/** 
+	 * Implements the Hi-Lo counting strategy with a given table of index plays
+	 * 
+	 * @param max_bet_in Maximum value that can be assigned to a bet
+	 * @param DDmin_in Minimum value for which a player can double down on their bet
+	 * @param DDmax_in Maximum value for which a player can double down on their bet
+	 * @param nDecks_in Number of decks that constitute the shoe
+	 * @param deviations_in Index plays, layered over the strategy table used when there's no index play
+	 */
+	public HiLo (int max_bet_in, int DDmin_in, int DDmax_in, int nDecks_in, DeviationTable deviations_in) {
 		super(max_bet_in, DDmin_in, DDmax_in);
 		running_count = 0;
 		true_count = 0;
 		dealt_cards = 0;
 		nDecks = nDecks_in;
-		basic_strat = new Basic(max_bet, DDmin, DDmax);
+		deviations = deviations_in;
 	}
 	
 	/** Updates the auxiliary variable count, according to the predefined table of values of the Hi-Lo 
@@ -69,6 +86,7 @@ public class HiLo extends PlayerStrategy {
 	
 	/** Gets next advisable play, according to the Hi-Lo Strategy's Illustrious 18 and Fab 4 variations,
 	 *  complemented with the basic Strategy.
+	 * <p> The play is read from the {@link DeviationTable} of the current true count.
 	 * 
 	 * @param nHands Number of hands
 	 * @param p_hand Player's hand
@@ -76,7 +94,7 @@ public class HiLo extends PlayerStrategy {
 	 * @param bet Value of the bet
 	 * 
 	 */
-	public String getNextPlay(int nHands, PlayerHand p_hand, Hand d_hand, int bet) {
+	public Command getNextPlay(int nHands, PlayerHand p_hand, Hand d_hand, int bet) {
 		canSurrender = true;
 		canDouble = ((p_hand.getValue() >= DDmin && p_hand.getValue() <= DDmax) && (2*bet <= max_bet));
 		if(p_hand.getNCards() != 2 ) {
@@ -85,98 +103,10 @@ public class HiLo extends PlayerStrategy {
 		}
 		canSplit = (nHands < 4);
 		canInsure = (p_hand.isOpening());
-		int p_hand_value = p_hand.getValue();
-		int d_card_value = d_hand.getFirst().getIntValue();
-		if(d_hand.getFirst().getValue().equals("A")) 
-			if(true_count >= 3 && canInsure) 
-				return "i";
-		if(p_hand_value == 9) {
-			if(d_card_value == 2) {
-				if (true_count >= 1 && canDouble)
-					return "2";
-				else 
-					return "h";
-			}
-			else if(d_card_value == 7) {
-				if (true_count >= 3 && canDouble)
-					return "2";
-				else 
-					return "h";
-			}
-			else return basic_strat.getNextPlay(nHands, p_hand, d_hand, bet);
-		}
-		else if(p_hand_value == 10) {
-			if(d_card_value == 10 || d_card_value == 11) {
-				if (true_count >= 4 && canDouble)
-					return "2";
-				else 
-					return "h";
-			}
-			else return basic_strat.getNextPlay(nHands, p_hand, d_hand, bet);
-		}
-		else if(p_hand_value == 11) {
-			if(d_card_value == 11) {
-				if (true_count >= 1 && canDouble)
-					return "2";
-				else 
-					return "h";
-			}
-			else return basic_strat.getNextPlay(nHands, p_hand, d_hand, bet);
-		}
-		else if(p_hand_value == 12) {
-			if(p_hand.isPair() && p_hand.getCards().get(0).getValue().equals("A") && !p_hand.isOpening())
-				return basic_strat.getNextPlay(nHands, p_hand, d_hand, bet);
-			if(d_card_value == 2)
-				return (true_count >= 3) ? "s" : "h";
-			else if(d_card_value == 3)
-				return (true_count >= 2) ? "s" : "h";
-			else if(d_card_value == 4)
-				return (true_count >= 0) ? "s" : "h";
-			else if(d_card_value == 5)
-				return (true_count >= -2) ? "s" : "h";
-			else if(d_card_value == 6)
-				return (true_count >= -1) ? "s" : "h";
-			else return basic_strat.getNextPlay(nHands, p_hand, d_hand, bet);
-		} 
-		else if(p_hand_value == 13) {
-			if(d_card_value == 2)
-				return (true_count >= -1) ? "s" : "h";
-			if(d_card_value == 3)
-				return (true_count >= -2) ? "s" : "h";
-			else return basic_strat.getNextPlay(nHands, p_hand, d_hand, bet);
-		} // Fab 4
-		else if(p_hand_value == 14) {
-			if(d_card_value == 10)
-				return (true_count >= 3 && canSurrender) ? "u" : basic_strat.getNextPlay(nHands, p_hand, d_hand, bet);
-			else return basic_strat.getNextPlay(nHands, p_hand, d_hand, bet);
-		}
-		else if(p_hand_value == 15) {
-			if(d_card_value == 9)
-				return (true_count >= 2 && canSurrender) ? "u" : basic_strat.getNextPlay(nHands, p_hand, d_hand, bet);
-			else if(d_card_value == 10) { // Fab 4 + Illustrious 18
-				if(true_count >= 4)
-					return "s";
-				else return (true_count > 0 && canSurrender) ? "u" : "h";
-			}
-			else if(d_card_value == 11)
-				return (true_count >= 1 && canSurrender) ? "u" : basic_strat.getNextPlay(nHands, p_hand, d_hand, bet);
-			else return basic_strat.getNextPlay(nHands, p_hand, d_hand, bet);
-		} // end of Fab 4
-		else if(p_hand_value == 16) {
-			if(d_card_value == 9)
-				return (true_count >= 5) ? "s" : "h";
-			else if(d_card_value == 10)
-				return (true_count >= 0) ? "s" : "h";
-			else return basic_strat.getNextPlay(nHands, p_hand, d_hand, bet);
-		} 
-		else if(p_hand.isPair() && p_hand_value == 20) {
-			if(d_card_value == 5)
-				return (canSplit && true_count >= 5) ? "p" : "s";
-			else if(d_card_value == 5)
-				return (canSplit && true_count >= 4) ? "p" : "s";
-			else return basic_strat.getNextPlay(nHands, p_hand, d_hand, bet);
-		}
-		else return basic_strat.getNextPlay(nHands, p_hand, d_hand, bet);	
+		if(d_hand.getFirst().isAce()) 
+			if(true_count >= deviations.getInsuranceIndex() && canInsure) 
+				return Command.INSURANCE;
+		return StrategyTable.COMMANDS[deviations.getAction((int) true_count, p_hand, d_hand.getFirst(), getMask())];
 	}
 	
 	/** Resets the auxiliary counters
@@ -187,4 +117,18 @@ public class HiLo extends PlayerStrategy {
 		true_count = 0;
 	}
 	
+	/** Updates the counts with a card that was seen (see {@link #updateCounts(Card)})
+	 */
+	@Override
+	public void cardSeen(Card card) {
+		updateCounts(card);
+	}
+	
+	/** Resets the counts when the shoe is shuffled (see {@link #resetCounts()})
+	 */
+	@Override
+	public void shuffled() {
+		resetCounts();
+	}
+	
 }
\ No newline at end of file
@@ -1,5 +1,6 @@
 package cardCounting;
 
+import blackjack.Command;
 import blackjack.Hand;
 import blackjack.PlayerHand;
 
@@ -40,6 +41,16 @@ public abstract class PlayerStrategy {
 		DDmax = DDmax_in;
 	}
 	
+	/** Gets the plays that are possible, as {@link StrategyTable} availability flags.
+	 * 
+	 * @return combination of {@link StrategyTable#CAN_DOUBLE}, {@link StrategyTable#CAN_SPLIT} and
+	 * {@link StrategyTable#CAN_SURRENDER}.
+	 */
+	protected int getMask() {
+		return (canDouble ? StrategyTable.CAN_DOUBLE : 0) | (canSplit ? StrategyTable.CAN_SPLIT : 0)
+				| (canSurrender ? StrategyTable.CAN_SURRENDER : 0);
+	}
+	
 	/** Calculates the next play based on the defined strategy
 	 * <p> Each Playing Strategy will implement this method in its own way
 	 * 
@@ -49,6 +60,6 @@ public abstract class PlayerStrategy {
 	 * @param bet Value of the current bet.
 	 * 
 	 */
-	public abstract String getNextPlay(int nHands, PlayerHand p_hand, Hand d_Hand, int bet);
+	public abstract Command getNextPlay(int nHands, PlayerHand p_hand, Hand d_Hand, int bet);
 	
 }
\ No newline at end of file
@@ -1,5 +1,7 @@
 package cardCounting;
 
+import java.util.Arrays;
+
 import blackjack.Card;
 
 /** Standard betting strategy
@@ -12,6 +14,14 @@ public class StandardStrategy extends BettingStrategy {
 	 * Saves the bet to be made next
 	 */
 	int next_bet;
+	/**
+	 * Next bet of each seat, when the strategy is shared by several seats
+	 */
+	private int[] seat_next_bets;
+	/**
+	 * Selected seat
+	 */
+	private int seat;
 	
 	/** 
 	 * Initialized in the same way as its superclass, BettingStrategy, but defaulting the next bet to the minimum bet value.
@@ -21,6 +31,28 @@ public class StandardStrategy extends BettingStrategy {
 		next_bet = min_bet_in;
 	}
 
+	/** Shares the strategy by several seats (see {@link BettingStrategy#setSeats(int)}), each one with its own
+	 * next bet
+	 */
+	@Override
+	public void setSeats(int nSeats) {
+		super.setSeats(nSeats);
+		seat_next_bets = new int[nSeats];
+		Arrays.fill(seat_next_bets, min_bet);
+		next_bet = min_bet;
+		seat = 0;
+	}
+	
+	/** Selects the seat whose bets are computed and updated next, with its next bet
+	 */
+	@Override
+	public void selectSeat(int seat_in) {
+		super.selectSeat(seat_in);
+		seat_next_bets[seat] = next_bet;
+		next_bet = seat_next_bets[seat_in];
+		seat = seat_in;
+	}
+
 	/** Gets the next value for the bet
 	 */
 	public int getNextBet() {
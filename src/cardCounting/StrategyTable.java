@@ -0,0 +1,366 @@
+package cardCounting;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.StringReader;
+
+import blackjack.Card;
+import blackjack.Command;
+import blackjack.HandState;
+import blackjack.PlayerHand;
+
+/**
+ * Class that implements a playing strategy table, such as the Basic Strategy one.
+ * <p>
+ * The table is written as the usual strategy charts: for every hand type (hard, soft or pair), player's total
+ * (or, for a pair, the value of the paired cards) and dealer's up card there is one of the following plays:
+ * <p> H: hit;
+ * <p> S: stand;
+ * <p> Dh / Ds: double if possible, otherwise hit / stand;
+ * <p> Rh / Rs: surrender if possible, otherwise hit / stand;
+ * <p> P (pair rows only): split if possible, otherwise play the hand as a hard hand with the same total (stand on a
+ * pair of Aces).
+ * <p>
+ * When the table is created, the chart is compiled into an array with the final action for every combination of
+ * hand type, total, up card and available plays (double, split and surrender), so that getting a play is a single
+ * array read.
+ * <p>
+ * In a table file (see {@link #parse(BufferedReader)}) each line has the hand type ({@code hard}, {@code soft}
+ * or {@code pair}), the total (or pair value, {@code A} for Aces) and the 10 plays against a dealer's 2, 3, ..., 10
+ * and Ace. Blank lines and lines starting with {@code #} are ignored, and rows that aren't in the file are all hits.
+ */
+public class StrategyTable {
+
+	/** Hand type: hard hand */
+	public static final int HARD = 0;
+	/** Hand type: soft hand (with an Ace counting as 11) */
+	public static final int SOFT = 1;
+	/** Hand type: opening pair (the row is the value of the paired cards) */
+	public static final int PAIR = 2;
+
+	/** Availability flag: the player can double */
+	public static final int CAN_DOUBLE = 1;
+	/** Availability flag: the player can split */
+	public static final int CAN_SPLIT = 2;
+	/** Availability flag: the player can surrender */
+	public static final int CAN_SURRENDER = 4;
+
+	/** Action: hit */
+	public static final byte HIT = 0;
+	/** Action: stand */
+	public static final byte STAND = 1;
+	/** Action: double */
+	public static final byte DOUBLE = 2;
+	/** Action: split */
+	public static final byte SPLIT = 3;
+	/** Action: surrender */
+	public static final byte SURRENDER = 4;
+	/** Commands of the actions, indexed by action */
+	static final Command[] COMMANDS = {Command.HIT, Command.STAND, Command.DOUBLE, Command.SPLIT, Command.SURRENDER};
+
+	/** Chart plays, in the order of their codes */
+	static final String[] CODES = {"H", "S", "Dh", "Ds", "Rh", "Rs", "P"};
+	/** Code of the chart play H */
+	static final byte H = 0;
+	/** Code of the chart play S */
+	static final byte S = 1;
+	/** Code of the chart play P */
+	static final byte P = 6;
+
+	/** Number of rows of each hand type (totals from 0 to 21) */
+	static final int ROWS = 22;
+	/** Number of dealer's up cards (2 to 10 and Ace) */
+	static final int UPCARDS = 10;
+	/** Number of combinations of the availability flags */
+	static final int MASKS = 8;
+	/** Number of cells of the chart */
+	static final int CELLS = 3*ROWS*UPCARDS;
+
+	/**
+	 * Row of the chart of every hand state (type*{@link #ROWS} + row): pairs are looked up by the value of the
+	 * paired cards, the other hands by their total, as soft or hard hands (busted hands have no row)
+	 */
+	private static final short[] STATE_ROWS = new short[HandState.count()];
+	static {
+		for (int state = 0; state < STATE_ROWS.length; state++) {
+			int info = HandState.getInfo(state);
+			int value = info & HandState.VALUE_MASK;
+			if ((info & HandState.BUST) != 0)
+				continue;
+			if ((info & HandState.PAIR) != 0)
+				STATE_ROWS[state] = (short) (PAIR*ROWS + (((info & HandState.SOFT) != 0) ? 11 : value/2));
+			else if ((info & HandState.SOFT) != 0)
+				STATE_ROWS[state] = (short) (SOFT*ROWS + value);
+			else
+				STATE_ROWS[state] = (short) (HARD*ROWS + value);
+		}
+	}
+
+	/** The Basic Strategy table */
+	public static final StrategyTable BASIC;
+	static {
+		try {
+			BASIC = parse(new BufferedReader(new StringReader(
+				"#        2  3  4  5  6  7  8  9  10 A\n" +
+				"hard 4   H  H  H  H  H  H  H  H  H  H\n" +
+				"hard 5   H  H  H  H  H  H  H  H  H  H\n" +
+				"hard 6   H  H  H  H  H  H  H  H  H  H\n" +
+				"hard 7   H  H  H  H  H  H  H  H  H  H\n" +
+				"hard 8   H  H  H  H  H  H  H  H  H  H\n" +
+				"hard 9   H  Dh Dh Dh Dh H  H  H  H  H\n" +
+				"hard 10  Dh Dh Dh Dh Dh Dh Dh Dh H  H\n" +
+				"hard 11  Dh Dh Dh Dh Dh Dh Dh Dh Dh H\n" +
+				"hard 12  H  H  S  S  S  H  H  H  H  H\n" +
+				"hard 13  S  S  S  S  S  H  H  H  H  H\n" +
+				"hard 14  S  S  S  S  S  H  H  H  H  H\n" +
+				"hard 15  S  S  S  S  S  H  H  H  Rh H\n" +
+				"hard 16  S  S  S  S  S  H  H  Rh Rh Rh\n" +
+				"hard 17  S  S  S  S  S  S  S  S  S  S\n" +
+				"hard 18  S  S  S  S  S  S  S  S  S  S\n" +
+				"hard 19  S  S  S  S  S  S  S  S  S  S\n" +
+				"hard 20  S  S  S  S  S  S  S  S  S  S\n" +
+				"hard 21  S  S  S  S  S  S  S  S  S  S\n" +
+				"soft 12  Dh Dh Dh Dh Dh Dh Dh Dh Dh Dh\n" +
+				"soft 13  H  H  H  Dh Dh H  H  H  H  H\n" +
+				"soft 14  H  H  H  Dh Dh H  H  H  H  H\n" +
+				"soft 15  H  H  Dh Dh Dh H  H  H  H  H\n" +
+				"soft 16  H  H  Dh Dh Dh H  H  H  H  H\n" +
+				"soft 17  H  Dh Dh Dh Dh H  H  H  H  H\n" +
+				"soft 18  S  Ds Ds Ds Ds S  S  H  H  H\n" +
+				"soft 19  S  S  S  S  S  S  S  S  S  S\n" +
+				"soft 20  S  S  S  S  S  S  S  S  S  S\n" +
+				"soft 21  S  S  S  S  S  S  S  S  S  S\n" +
+				"pair 2   H  H  P  P  P  P  H  H  H  H\n" +
+				"pair 3   H  H  P  P  P  P  H  H  H  H\n" +
+				"pair 4   H  H  H  H  H  H  H  H  H  H\n" +
+				"pair 5   Dh Dh Dh Dh Dh Dh Dh Dh H  H\n" +
+				"pair 6   H  P  P  P  P  H  H  H  H  H\n" +
+				"pair 7   P  P  P  P  P  P  H  H  H  H\n" +
+				"pair 8   P  P  P  P  P  P  P  P  P  P\n" +
+				"pair 9   P  P  P  P  P  S  P  P  S  S\n" +
+				"pair 10  S  S  S  S  S  S  S  S  S  S\n" +
+				"pair A   P  P  P  P  P  P  P  P  P  P\n")));
+		} catch (IOException e) {
+			throw new ExceptionInInitializerError(e);
+		}
+	}
+
+	/** Chart play codes (indexes of {@link #CODES}) of every cell */
+	private final byte[] chart;
+	/** Final actions of every cell, for each combination of the availability flags */
+	private final byte[] actions;
+
+	/** Creates a table from its chart, compiling the final actions.
+	 *
+	 * @param chart_in chart play codes of every cell (see {@link #cell(int, int, int)}).
+	 */
+	StrategyTable(byte[] chart_in) {
+		chart = chart_in;
+		actions = new byte[CELLS*MASKS];
+		for (int type = HARD; type <= PAIR; type++)
+			for (int row = 0; row < ROWS; row++)
+				for (int up = 0; up < UPCARDS; up++)
+					for (int mask = 0; mask < MASKS; mask++)
+						actions[cell(type, row, up)*MASKS + mask] = resolve(chart[cell(type, row, up)], type, row, up, mask);
+	}
+
+	/** Gets the index of a cell of the chart.
+	 *
+	 * @param type hand type.
+	 * @param row player's total (pair value for pairs).
+	 * @param up index of the dealer's up card (its value minus 2).
+	 * @return index of the cell.
+	 */
+	static int cell(int type, int row, int up) {
+		return (type*ROWS + row)*UPCARDS + up;
+	}
+
+	/** Gets the chart play code of a cell.
+	 *
+	 * @param cell index of the cell.
+	 * @return chart play code.
+	 */
+	byte getCode(int cell) {
+		return chart[cell];
+	}
+
+	/** Gets a copy of the chart.
+	 *
+	 * @return chart play codes of every cell.
+	 */
+	byte[] getChart() {
+		return chart.clone();
+	}
+
+	/** Gets the final action of a chart play, given the available plays.
+	 *
+	 * @param code chart play code.
+	 * @param type hand type of the cell.
+	 * @param row row of the cell.
+	 * @param up dealer's up card index of the cell.
+	 * @param mask availability flags.
+	 * @return final action.
+	 */
+	byte resolve(byte code, int type, int row, int up, int mask) {
+		switch (CODES[code]) {
+			case "H":
+				return HIT;
+			case "S":
+				return STAND;
+			case "Dh":
+				return ((mask & CAN_DOUBLE) != 0) ? DOUBLE : HIT;
+			case "Ds":
+				return ((mask & CAN_DOUBLE) != 0) ? DOUBLE : STAND;
+			case "Rh":
+				return ((mask & CAN_SURRENDER) != 0) ? SURRENDER : HIT;
+			case "Rs":
+				return ((mask & CAN_SURRENDER) != 0) ? SURRENDER : STAND;
+			default:
+				if (type == PAIR && (mask & CAN_SPLIT) != 0)
+					return SPLIT;
+				if (type != PAIR || row == 11)
+					return STAND;
+				return resolve(chart[cell(HARD, 2*row, up)], HARD, 2*row, up, mask);
+		}
+	}
+
+	/** Gets the action for a hand.
+	 *
+	 * @param p_hand player's hand.
+	 * @param d_card dealer's up card.
+	 * @param mask available plays ({@link #CAN_DOUBLE}, {@link #CAN_SPLIT} and {@link #CAN_SURRENDER} flags).
+	 * @return action ({@link #HIT}, {@link #STAND}, {@link #DOUBLE}, {@link #SPLIT} or {@link #SURRENDER}).
+	 */
+	public byte getAction(PlayerHand p_hand, Card d_card, int mask) {
+		return getAction(p_hand.getState(), d_card.getIntValue(), mask);
+	}
+
+	/** Gets the action for a hand state (see {@link HandState}).
+	 *
+	 * @param state state of the player's hand.
+	 * @param up value of the dealer's up card (2 to 11).
+	 * @param mask available plays.
+	 * @return action.
+	 */
+	byte getAction(int state, int up, int mask) {
+		return actions[(STATE_ROWS[state]*UPCARDS + up - 2)*MASKS + mask];
+	}
+
+	/** Reads a table from a file.
+	 *
+	 * @param file name of the file.
+	 * @return the table.
+	 * @throws IOException if the file can't be read.
+	 * @throws IllegalArgumentException if the file isn't a valid table.
+	 */
+	public static StrategyTable load(String file) throws IOException {
+		try (BufferedReader in = new BufferedReader(new FileReader(file))) {
+			return parse(in);
+		}
+	}
+
+	/** Reads a table.
+	 *
+	 * @param in reader with the table lines.
+	 * @return the table.
+	 * @throws IOException if the table can't be read.
+	 * @throws IllegalArgumentException if the table isn't valid.
+	 */
+	public static StrategyTable parse(BufferedReader in) throws IOException {
+		byte[] chart = new byte[CELLS];
+		String line;
+		int nLine = 0;
+		while ((line = in.readLine()) != null) {
+			nLine++;
+			line = line.trim();
+			if (line.isEmpty() || line.startsWith("#"))
+				continue;
+			String[] toks = line.split("\\s+");
+			if (toks.length != 2 + UPCARDS)
+				throw new IllegalArgumentException("line " + nLine + ": expected a hand type, a total and " + UPCARDS + " plays");
+			int type = parseType(toks[0], nLine);
+			int row = parseRow(toks[1], type, nLine);
+			for (int up = 0; up < UPCARDS; up++)
+				chart[cell(type, row, up)] = parseCode(toks[2 + up], type, nLine);
+		}
+		return new StrategyTable(chart);
+	}
+
+	/** Parses a hand type.
+	 *
+	 * @param tok token with the hand type.
+	 * @param nLine line number (for the error message).
+	 * @return hand type.
+	 */
+	static int parseType(String tok, int nLine) {
+		if (tok.equals("hard"))
+			return HARD;
+		if (tok.equals("soft"))
+			return SOFT;
+		if (tok.equals("pair"))
+			return PAIR;
+		throw new IllegalArgumentException("line " + nLine + ": invalid hand type " + tok);
+	}
+
+	/** Parses a row: a total from 4 to 21 for hard hands, from 12 to 21 for soft hands or a pair value
+	 * (2 to 10 or A).
+	 *
+	 * @param tok token with the row.
+	 * @param type hand type of the row.
+	 * @param nLine line number (for the error message).
+	 * @return row.
+	 */
+	static int parseRow(String tok, int type, int nLine) {
+		int row = -1;
+		if (type == PAIR && tok.equals("A"))
+			return 11;
+		try {
+			row = Integer.parseInt(tok);
+		} catch (NumberFormatException nfe) {
+			// row stays invalid
+		}
+		int min = (type == HARD) ? 4 : (type == SOFT) ? 12 : 2;
+		int max = (type == PAIR) ? 10 : 21;
+		if (row < min || row > max)
+			throw new IllegalArgumentException("line " + nLine + ": invalid total " + tok);
+		return row;
+	}
+
+	/** Parses a dealer's up card (2 to 10 or A).
+	 *
+	 * @param tok token with the up card.
+	 * @param nLine line number (for the error message).
+	 * @return index of the up card.
+	 */
+	static int parseUpcard(String tok, int nLine) {
+		if (tok.equals("A"))
+			return UPCARDS - 1;
+		try {
+			int up = Integer.parseInt(tok);
+			if (up >= 2 && up <= 10)
+				return up - 2;
+		} catch (NumberFormatException nfe) {
+			// falls through to the error
+		}
+		throw new IllegalArgumentException("line " + nLine + ": invalid up card " + tok);
+	}
+
+	/** Parses a chart play (a split is only valid on a pair row).
+	 *
+	 * @param tok token with the play.
+	 * @param type hand type of the row.
+	 * @param nLine line number (for the error message).
+	 * @return chart play code.
+	 */
+	static byte parseCode(String tok, int type, int nLine) {
+		for (byte code = 0; code < CODES.length; code++)
+			if (CODES[code].equals(tok)) {
+				if (tok.equals("P") && type != PAIR)
+					throw new IllegalArgumentException("line " + nLine + ": split on a " + (type == HARD ? "hard" : "soft") + " row");
+				return code;
+			}
+		throw new IllegalArgumentException("line " + nLine + ": invalid play " + tok);
+	}
+
+}
@@ -1,17 +1,40 @@
 package main;
 
+import blackjack.AdviceServer;
 import blackjack.Game;
+import blackjack.GameServer;
+import blackjack.ParallelSimulation;
+import blackjack.RegressionRunner;
+import blackjack.ShoeCorpus;
+import blackjack.StopCriterion;
+import blackjack.TableHost;
+import cardCounting.AdviceTable;
+import cardCounting.DeviationTable;
+import cardCounting.StrategyTable;
+
+import java.io.IOException;
+import java.util.Arrays;
 
 public class Main {
 	
-	private static Game game = null;
-	
 	public static void main(String args[]){
-		if (args.length != 6 && args.length != 8) {
+		if (args.length >= 3 && args[0].equals("-c")) {
+			convert(args);
+			return;
+		}
+		if (args.length == 3 && args[0].equals("-a")) {
+			advise(args);
+			return;
+		}
+		boolean regression = args.length > 0 && args[0].equals("-r");
+		boolean server = args.length > 0 && args[0].equals("-n");
+		if (regression ? (args.length != 5 && args.length != 7) : server ? (args.length != 7)
+				: (args.length != 6 && args.length < 8)) {
 			System.out.println("Incorrect number of arguments");
 			System.exit(0);
 		}
 		char Mode_in = args[0].charAt(1);
+		Game game = null;
 		int min_bet = 0, max_bet = 0, balance = 0;
 		try {
 			min_bet = Integer.parseInt(args[1]);
@@ -34,7 +57,7 @@ public class Main {
 			System.out.println("Invalid balance");
 			System.exit(0);				
 		}
-		if ((Mode_in) == 'i') {
+		if ((Mode_in) == 'i' || (Mode_in) == 'n') {
 			int shoe = 0, shuffle = 0;
 			try {
 				shoe = Integer.parseInt(args[4]);
@@ -56,10 +79,64 @@ public class Main {
 				System.out.println("Invalid shuffle parameter");
 				System.exit(0);				
 			}
+			if ((Mode_in) == 'n') {
+				int port = 0;
+				try {
+					port = Integer.parseInt(args[6]);
+				} catch (NumberFormatException nfe) {
+					System.out.println("Invalid port: " + nfe);
+					System.exit(0);
+				}
+				if (port < 0 || port > 65535) {
+					System.out.println("Invalid port");
+					System.exit(0);
+				}
+				try {
+					GameServer gameServer = new GameServer(port, min_bet, max_bet, balance, shoe, shuffle);
+					System.out.println("Listening on port " + gameServer.getPort());
+					gameServer.serve();
+				} catch (IOException e) {
+					System.out.println("Server failed: " + e);
+					System.exit(0);
+				}
+				return;
+			}
 			game = new Game(Mode_in, min_bet, max_bet, balance, shoe, shuffle, -1, null);
 		}
 		else if ((Mode_in) == 'd') {
-			game = new Game(Mode_in, min_bet, max_bet, balance, args[4], args[5]); 
+			try {
+				game = new Game(Mode_in, min_bet, max_bet, balance, args[4], args[5]);
+			} catch (IllegalArgumentException iae) {
+				System.out.println(iae.getMessage());
+				System.exit(0);
+			}
+		}
+		else if ((Mode_in) == 'r') {
+			int threads = Runtime.getRuntime().availableProcessors();
+			if (args.length == 7) {
+				if (!args[5].equals("-t")) {
+					System.out.println("Invalid option " + args[5]);
+					System.exit(0);
+				}
+				try {
+					threads = Integer.parseInt(args[6]);
+				} catch (NumberFormatException nfe) {
+					System.out.println("Invalid number of threads: " + nfe);
+					System.exit(0);
+				}
+				if (threads < 1) {
+					System.out.println("Invalid number of threads");
+					System.exit(0);
+				}
+			}
+			int failed = 0;
+			try {
+				failed = new RegressionRunner(min_bet, max_bet, balance, threads).run(args[4]);
+			} catch (IOException e) {
+				System.out.println("Invalid scenario directory: " + e);
+				System.exit(0);
+			}
+			System.exit((failed > 0) ? 1 : 0);
 		}
 		else if ((Mode_in) == 's') {
 			int shoe = 0, shuffle = 0, snumber = 0;
@@ -93,7 +170,169 @@ public class Main {
 				System.out.println("Invalid sNumber parameter");
 				System.exit(0);				
 			}
-			game = new Game(Mode_in, min_bet, max_bet, balance, shoe, shuffle, snumber, args[7]);
+			int threads = Runtime.getRuntime().availableProcessors();
+			String rng = ParallelSimulation.DEFAULT_RNG;
+			Long seed = null;
+			String tableFile = null, deviationsFile = null, shoesFile = null;
+			double halfWidth = 0, seconds = 0;
+			int seats = 1, tables = 0;
+			for (int i = 8; i < args.length; i += 2) {
+				if (i + 1 == args.length) {
+					System.out.println("Missing value for option " + args[i]);
+					System.exit(0);
+				}
+				if (args[i].equals("-t")) {
+					try {
+						threads = Integer.parseInt(args[i+1]);
+					} catch (NumberFormatException nfe) {
+						System.out.println("Invalid number of threads: " + nfe);
+						System.exit(0);
+					}
+					if (threads < 1) {
+						System.out.println("Invalid number of threads");
+						System.exit(0);
+					}
+				}
+				else if (args[i].equals("-seed")) {
+					try {
+						seed = Long.parseLong(args[i+1]);
+					} catch (NumberFormatException nfe) {
+						System.out.println("Invalid seed: " + nfe);
+						System.exit(0);
+					}
+				}
+				else if (args[i].equals("-rng")) {
+					rng = args[i+1];
+				}
+				else if (args[i].equals("-table")) {
+					tableFile = args[i+1];
+				}
+				else if (args[i].equals("-deviations")) {
+					deviationsFile = args[i+1];
+				}
+				else if (args[i].equals("-shoes")) {
+					shoesFile = args[i+1];
+				}
+				else if (args[i].equals("-tables")) {
+					try {
+						tables = Integer.parseInt(args[i+1]);
+					} catch (NumberFormatException nfe) {
+						System.out.println("Invalid number of tables: " + nfe);
+						System.exit(0);
+					}
+					if (tables < 1) {
+						System.out.println("Invalid number of tables");
+						System.exit(0);
+					}
+				}
+				else if (args[i].equals("-seats")) {
+					try {
+						seats = Integer.parseInt(args[i+1]);
+					} catch (NumberFormatException nfe) {
+						System.out.println("Invalid number of seats: " + nfe);
+						System.exit(0);
+					}
+					if (seats < 1 || seats > Game.MAX_SEATS) {
+						System.out.println("Invalid number of seats");
+						System.exit(0);
+					}
+				}
+				else if (args[i].equals("-ci")) {
+					try {
+						halfWidth = Double.parseDouble(args[i+1]);
+					} catch (NumberFormatException nfe) {
+						System.out.println("Invalid confidence interval half width: " + nfe);
+						System.exit(0);
+					}
+					if (!(halfWidth > 0)) {
+						System.out.println("Invalid confidence interval half width");
+						System.exit(0);
+					}
+				}
+				else if (args[i].equals("-time")) {
+					try {
+						seconds = Double.parseDouble(args[i+1]);
+					} catch (NumberFormatException nfe) {
+						System.out.println("Invalid time budget: " + nfe);
+						System.exit(0);
+					}
+					if (!(seconds > 0)) {
+						System.out.println("Invalid time budget");
+						System.exit(0);
+					}
+				}
+				else {
+					System.out.println("Invalid option " + args[i]);
+					System.exit(0);
+				}
+			}
+			StrategyTable table = StrategyTable.BASIC;
+			DeviationTable deviations = DeviationTable.HI_LO_BASIC;
+			try {
+				if (tableFile != null)
+					table = StrategyTable.load(tableFile);
+			} catch (IOException | IllegalArgumentException e) {
+				System.out.println("Invalid strategy table: " + e.getMessage());
+				System.exit(0);
+			}
+			try {
+				if (deviationsFile != null)
+					deviations = DeviationTable.load(deviationsFile, table);
+				else if (tableFile != null)
+					deviations = DeviationTable.of(table);
+			} catch (IOException | IllegalArgumentException e) {
+				System.out.println("Invalid deviations table: " + e.getMessage());
+				System.exit(0);
+			}
+			if (tables > 0) {
+				if (shoesFile != null) {
+					System.out.println("Invalid option -shoes with -tables");
+					System.exit(0);
+				}
+				TableHost host = null;
+				try {
+					host = new TableHost(min_bet, max_bet, balance, shoe, shuffle, snumber, args[7], threads, rng, seed);
+				} catch (IllegalArgumentException iae) {
+					System.out.println("Invalid random number generator: " + iae.getMessage());
+					System.exit(0);
+				}
+				host.setStrategyTables(table, deviations);
+				host.setSeats(seats);
+				if (halfWidth > 0 || seconds > 0)
+					host.setStopCriterion(new StopCriterion(halfWidth, seconds));
+				try {
+					host.run(tables);
+				} catch (IllegalArgumentException iae) {
+					System.out.println(iae.getMessage());
+					System.exit(0);
+				}
+				return;
+			}
+			ParallelSimulation simulation = null;
+			try {
+				simulation = new ParallelSimulation(min_bet, max_bet, balance, shoe, shuffle, snumber, args[7], threads, rng, seed);
+			} catch (IllegalArgumentException iae) {
+				System.out.println("Invalid random number generator: " + iae.getMessage());
+				System.exit(0);
+			}
+			simulation.setStrategyTables(table, deviations);
+			simulation.setSeats(seats);
+			if (halfWidth > 0 || seconds > 0)
+				simulation.setStopCriterion(new StopCriterion(halfWidth, seconds));
+			try {
+				if (shoesFile != null)
+					simulation.setShoeCorpus(new ShoeCorpus(shoesFile));
+			} catch (IOException e) {
+				System.out.println("Invalid shoe corpus: " + e.getMessage());
+				System.exit(0);
+			}
+			try {
+				simulation.run();
+			} catch (IllegalArgumentException iae) {
+				System.out.println(iae.getMessage());
+				System.exit(0);
+			}
+			return;
 		}
 		else {
 			System.out.println("Incorrect arguments");
@@ -102,4 +341,46 @@ public class Main {
 		
 		game.play();
 	}
+	
+	/** Serves playing advice over HTTP (see {@link AdviceServer}): {@code -a <max-bet> <port>}
+	 * 
+	 * @param args command line arguments.
+	 */
+	private static void advise(String args[]) {
+		int max_bet = 0, port = 0;
+		try {
+			max_bet = Integer.parseInt(args[1]);
+			port = Integer.parseInt(args[2]);
+		} catch (NumberFormatException nfe) {
+			System.out.println("Invalid advice args: " + nfe);
+			System.exit(0);
+		}
+		if (max_bet < 1 || port < 0 || port > 65535) {
+			System.out.println("Invalid advice args");
+			System.exit(0);
+		}
+		try {
+			AdviceServer server = new AdviceServer(port, null, new AdviceTable(max_bet, 9, 11, StrategyTable.BASIC,
+					DeviationTable.HI_LO_BASIC));
+			server.start();
+			System.out.println("Listening on port " + server.getPort());
+		} catch (IOException e) {
+			System.out.println("Server failed: " + e);
+			System.exit(0);
+		}
+	}
+	
+	/** Converts shoe files (text) into a shoe corpus (binary): {@code -c <corpus> <shoe-file>...}
+	 * 
+	 * @param args command line arguments.
+	 */
+	private static void convert(String args[]) {
+		try {
+			long n = ShoeCorpus.convert(args[1], Arrays.copyOfRange(args, 2, args.length));
+			System.out.println(n + " shoes written to " + args[1]);
+		} catch (IOException | IllegalArgumentException e) {
+			System.out.println("Invalid shoe file: " + e);
+			System.exit(0);
+		}
+	}
 }